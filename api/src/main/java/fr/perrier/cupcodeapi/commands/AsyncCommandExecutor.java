@@ -0,0 +1,118 @@
+package fr.perrier.cupcodeapi.commands;
+
+import fr.perrier.cupcodeapi.commands.trace.CommandTrace;
+import fr.perrier.cupcodeapi.commands.trace.TraceLevel;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs the commands declared with {@code @Command(async = true)}.
+ * <p>
+ * The default backend starts one virtual thread per command, which suits commands blocking on JDBC or HTTP calls.
+ * The number of concurrent executions of a command can be bounded with {@code @Command(maxConcurrency = n)},
+ * or for every command with {@link #setDefaultMaxConcurrency(int)}; executions above the bound wait for a
+ * running one to finish. Use {@link CommandHandler#runSync(Runnable)} to post results back to the server thread.
+ */
+public final class AsyncCommandExecutor {
+
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final Map<CommandData, Semaphore> limits = new ConcurrentHashMap<>();
+    private volatile int defaultMaxConcurrency = 0;
+
+    private AsyncCommandExecutor(Executor executor, ExecutorService ownedExecutor) {
+        this.executor = executor;
+        this.ownedExecutor = ownedExecutor;
+    }
+
+    /**
+     * @return A backend starting a virtual thread for each command.
+     */
+    public static AsyncCommandExecutor virtualThreads() {
+        ExecutorService service = Executors.newVirtualThreadPerTaskExecutor();
+        return (new AsyncCommandExecutor(service, service));
+    }
+
+    /**
+     * @param plugin The plugin owning the tasks.
+     * @return A backend running commands as asynchronous Bukkit tasks.
+     */
+    public static AsyncCommandExecutor bukkitScheduler(Plugin plugin) {
+        return (new AsyncCommandExecutor(task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task), null));
+    }
+
+    /**
+     * @param executor The executor running the commands, it is not shut down by this backend.
+     * @return A backend running commands on the given executor.
+     */
+    public static AsyncCommandExecutor of(Executor executor) {
+        return (new AsyncCommandExecutor(executor, null));
+    }
+
+    /**
+     * @return The bound applied to commands not declaring their own, 0 if unbounded.
+     */
+    public int getDefaultMaxConcurrency() {
+        return defaultMaxConcurrency;
+    }
+
+    /**
+     * Bound the concurrent executions of every command not declaring its own bound.
+     * Only applies to commands that did not run yet.
+     *
+     * @param maxConcurrency The bound, 0 for unbounded.
+     */
+    public void setDefaultMaxConcurrency(int maxConcurrency) {
+        this.defaultMaxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Run a command asynchronously, waiting for a slot if the command is at its concurrency bound.
+     *
+     * @param commandData The command.
+     * @param task        The execution of the command.
+     */
+    void execute(CommandData commandData, Runnable task) {
+        int maxConcurrency = commandData.getMaxConcurrency() > 0 ? commandData.getMaxConcurrency() : defaultMaxConcurrency;
+
+        if (maxConcurrency <= 0) {
+            executor.execute(task);
+            return;
+        }
+
+        Semaphore limit = limits.computeIfAbsent(commandData, k -> new Semaphore(maxConcurrency));
+        executor.execute(() -> {
+            try {
+                if (!limit.tryAcquire()) {
+                    CommandTrace.trace(TraceLevel.DEBUG, "async command '{}' waits for one of its {} slots", commandData.getName(), maxConcurrency);
+                    limit.acquire();
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            try {
+                task.run();
+            } finally {
+                limit.release();
+            }
+        });
+    }
+
+    /**
+     * Stop the executor owned by this backend, commands already running are not interrupted.
+     */
+    public void shutdown() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+}
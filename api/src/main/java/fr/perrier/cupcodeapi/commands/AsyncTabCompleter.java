@@ -0,0 +1,164 @@
+package fr.perrier.cupcodeapi.commands;
+
+import fr.perrier.cupcodeapi.commands.annotations.ParameterType;
+import fr.perrier.cupcodeapi.commands.trace.CommandTrace;
+import fr.perrier.cupcodeapi.commands.trace.TraceLevel;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bridges {@link ParameterType#tabCompleteAsync(Player, Set, String)} to the synchronous tab completion of Bukkit.
+ * <p>
+ * Spigot asks for completions on the server thread and expects an answer right away, so a pending completion is
+ * never awaited: nothing is suggested yet and the completion keeps running. Once it completed, its result is served
+ * to the next requests of the player whose input starts with the completed one, filtered by the new input, so the
+ * suggestions show up as the player keeps typing. Only the latest request of each player is kept: typing something
+ * else cancels it, and it expires {@link #getTimeout()} milliseconds after it started.
+ */
+public final class AsyncTabCompleter {
+
+    private static final Map<UUID, Request> pending = new ConcurrentHashMap<>();
+    private static volatile long timeout = 2000;
+
+    private AsyncTabCompleter() {
+    }
+
+    /**
+     * @return How long the completion of a parameter type is kept, in milliseconds.
+     */
+    public static long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Set how long the completion of a parameter type is kept. A completion still running by then is cancelled.
+     *
+     * @param duration The timeout.
+     * @param unit     The unit of the timeout.
+     */
+    public static void setTimeout(long duration, TimeUnit unit) {
+        timeout = unit.toMillis(duration);
+    }
+
+    /**
+     * Tab complete a parameter without waiting for asynchronous parameter types.
+     *
+     * @param sender The player completing the parameter.
+     * @param type   The parameter type.
+     * @param flags  The tab complete flags of the parameter.
+     * @param source The partially typed parameter.
+     * @return The completions, empty if they are not available yet.
+     */
+    static List<String> complete(Player sender, ParameterType<?> type, Set<String> flags, String source) {
+        UUID uuid = sender.getUniqueId();
+        Request request = (uuid == null ? null : pending.get(uuid));
+
+        if (request != null && request.accepts(type, flags, source)) {
+            if (!request.future.isDone()) {
+                CommandTrace.trace(TraceLevel.DEBUG, "tab complete of '{}' still pending", request.source);
+                return (new ArrayList<>());
+            }
+
+            List<String> completions = getNow(request.future, request.source);
+            return (source.equals(request.source) ? completions : filter(completions, source));
+        }
+
+        if (request != null && pending.remove(uuid, request)) {
+            // The player typed something else, nobody will read the previous completions.
+            request.future.cancel(true);
+        }
+
+        CompletableFuture<List<String>> future = type.tabCompleteAsync(sender, flags, source);
+
+        if (future.isDone()) {
+            return (getNow(future, source));
+        }
+
+        CommandTrace.trace(TraceLevel.DEBUG, "tab complete of '{}' pending", source);
+
+        if (uuid == null) {
+            future.cancel(true);
+            return (new ArrayList<>());
+        }
+
+        Request created = new Request(type, flags, source, future);
+        pending.put(uuid, created);
+        // Expires even if the player never asks again, so a completion that never ends is not kept forever.
+        CompletableFuture.delayedExecutor(timeout, TimeUnit.MILLISECONDS).execute(() -> expire(uuid, created));
+
+        return (new ArrayList<>());
+    }
+
+    private static void expire(UUID uuid, Request request) {
+        if (pending.remove(uuid, request) && !request.future.isDone()) {
+            request.future.cancel(true);
+            CommandTrace.trace(TraceLevel.DEBUG, "tab complete of '{}' expired", request.source);
+        }
+    }
+
+    private static List<String> getNow(CompletableFuture<List<String>> future, String source) {
+        try {
+            // Copied, as a kept result may be served several times.
+            return (new ArrayList<>(future.join()));
+        } catch (CompletionException | CancellationException exception) {
+            CommandTrace.trace(TraceLevel.WARN, "tab complete of '{}' failed: {}", source, exception);
+            return (new ArrayList<>());
+        }
+    }
+
+    private static List<String> filter(List<String> completions, String source) {
+        List<String> matching = new ArrayList<>(completions.size());
+
+        for (String completion : completions) {
+            if (completion.regionMatches(true, 0, source, 0, source.length())) {
+                matching.add(completion);
+            }
+        }
+
+        return (matching);
+    }
+
+    /**
+     * Cancel the pending completion of a player.
+     *
+     * @param uuid The player's UUID.
+     */
+    static void cancel(UUID uuid) {
+        Request request = pending.remove(uuid);
+
+        if (request != null) {
+            request.future.cancel(true);
+        }
+    }
+
+    private static final class Request {
+        private final ParameterType<?> type;
+        private final Set<String> flags;
+        private final String source;
+        private final CompletableFuture<List<String>> future;
+
+        private Request(ParameterType<?> type, Set<String> flags, String source, CompletableFuture<List<String>> future) {
+            this.type = type;
+            this.flags = flags;
+            this.source = source;
+            this.future = future;
+        }
+
+        /**
+         * @return True if the completions of this request also answer an input, the same one or a longer one.
+         */
+        private boolean accepts(ParameterType<?> type, Set<String> flags, String source) {
+            return this.type == type && source.regionMatches(true, 0, this.source, 0, this.source.length()) && this.flags.equals(flags);
+        }
+    }
+}
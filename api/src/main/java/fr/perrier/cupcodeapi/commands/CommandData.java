@@ -0,0 +1,460 @@
+package fr.perrier.cupcodeapi.commands;
+
+import fr.perrier.cupcodeapi.commands.annotations.*;
+import fr.perrier.cupcodeapi.commands.annotations.Command;
+import fr.perrier.cupcodeapi.commands.metrics.CommandMetrics;
+import fr.perrier.cupcodeapi.commands.trace.CommandTrace;
+import fr.perrier.cupcodeapi.commands.trace.TraceLevel;
+import fr.perrier.cupcodeapi.utils.*;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+public final class CommandData {
+
+    // Marks a flag that was not given and has no base value, the method then receives null.
+    private static final Object NO_VALUE = new Object();
+
+    @Getter
+    final String[] names;
+    @Getter
+    final String permission;
+    @Getter
+    final boolean async;
+    @Getter
+    final int maxConcurrency;
+    @Getter
+    final List<ParameterData> parameters;
+    @Getter
+    final Method method;
+    @Getter
+    final boolean consoleAllowed;
+    @Getter
+    final CommandInvoker invoker;
+    @Getter
+    final List<ParameterData> positionalParameters;
+    @Getter
+    final boolean flagged;
+    @Getter
+    final CommandMetrics metrics = new CommandMetrics();
+    @Getter
+    volatile RateLimiter rateLimiter;
+
+    public CommandData(Command commandAnnotation, List<ParameterData> parameters, Method method, boolean consoleAllowed) {
+        this(commandAnnotation.names(), commandAnnotation.permission(), commandAnnotation.async(), commandAnnotation.maxConcurrency(),
+                parameters, method, consoleAllowed, CommandInvoker.of(method));
+
+        RateLimit rateLimit = method.getAnnotation(RateLimit.class);
+        if (rateLimit != null) {
+            this.rateLimiter = RateLimiter.of(rateLimit);
+        }
+    }
+
+    /**
+     * Create a command without reflection, as done by the registries generated at build time.
+     *
+     * @param names          The names of the command, see {@link Command#names()}.
+     * @param permission     The permission of the command, empty for none.
+     * @param async          Whether the command runs off the server thread.
+     * @param maxConcurrency The bound of concurrent async executions, 0 for the default.
+     * @param parameters     The parameters of the command method, sender excluded.
+     * @param consoleAllowed Whether the console may run the command.
+     * @param invoker        Calls the command method.
+     */
+    public CommandData(String[] names, String permission, boolean async, int maxConcurrency, List<ParameterData> parameters,
+                       boolean consoleAllowed, CommandInvoker invoker) {
+        this(names, permission, async, maxConcurrency, parameters, null, consoleAllowed, invoker);
+    }
+
+    private CommandData(String[] names, String permission, boolean async, int maxConcurrency, List<ParameterData> parameters,
+                        Method method, boolean consoleAllowed, CommandInvoker invoker) {
+        this.names = names;
+        this.permission = permission;
+        this.async = async;
+        this.maxConcurrency = maxConcurrency;
+        this.parameters = parameters;
+        this.method = method;
+        this.consoleAllowed = consoleAllowed;
+        this.invoker = invoker;
+
+        List<ParameterData> positional = new ArrayList<>();
+        for (ParameterData parameter : parameters) {
+            if (!parameter.isFlag()) {
+                positional.add(parameter);
+            } else if (parameter.getParameterClass().isPrimitive() && parameter.getParameterClass() != boolean.class
+                    && parameter.getDefaultValue().isEmpty()) {
+                // A flag which is not typed has no value, and a primitive cannot be null.
+                throw new IllegalArgumentException("Flag '" + parameter.getName() + "' of command " + names[0]
+                        + " needs a baseValue, or a boxed " + parameter.getParameterClass() + " type");
+            }
+        }
+        this.positionalParameters = Collections.unmodifiableList(positional);
+        this.flagged = positional.size() != parameters.size();
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public boolean isConsoleAllowed() {
+        return consoleAllowed;
+    }
+
+    public String getPermission() {
+        return permission;
+    }
+
+    public List<ParameterData> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return The command method, or null for commands created by a generated registry.
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    public CommandInvoker getInvoker() {
+        return invoker;
+    }
+
+    /**
+     * @return The parameters typed by position, in order, without the flags.
+     */
+    public List<ParameterData> getPositionalParameters() {
+        return positionalParameters;
+    }
+
+    /**
+     * @return True if this command declares at least one {@link Flag}.
+     */
+    public boolean isFlagged() {
+        return flagged;
+    }
+
+    public CommandMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return The per-player rate limit of this command, or null if it is not limited.
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Replace the rate limit of this command, for example from a configuration file.
+     *
+     * @param rateLimiter The new rate limit, or null to remove it.
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public String[] getNames() {
+        return names;
+    }
+
+    public String getName() {
+        return (names[0]);
+    }
+
+    public boolean canAccess(CommandSender sender) {
+        // Console can do anything.
+        if (!(sender instanceof Player player)) {
+            return true;
+        }
+
+        return player.isOp() || permission.isEmpty() || PermissionCache.hasPermission(player, permission);
+    }
+
+    public String getUsageString() {
+        return (getUsageString(getName()));
+    }
+
+    /**
+     * Get a usage string for this command, using the alias given.
+     *
+     * @param aliasUsed The alias to use in the usage string.
+     * @return The usage string.
+     */
+    public String getUsageString(String aliasUsed) {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (ParameterData paramHelp : getParameters()) {
+            if (paramHelp.isFlag()) {
+                stringBuilder.append("[-").append(paramHelp.getName()).append("] ");
+                continue;
+            }
+
+            boolean needed = paramHelp.getDefaultValue().isEmpty();
+            stringBuilder.append(needed ? "<" : "[").append(paramHelp.getName());
+            stringBuilder.append(needed ? ">" : "]").append(" ");
+        }
+
+        return ("/" + aliasUsed.toLowerCase() + " " + stringBuilder.toString().trim().toLowerCase());
+    }
+
+    /**
+     * Execute the command.
+     *
+     * @param sender The sender of the command.
+     * @param params The parameters given to the command, not including the command name.
+     */
+    public void execute(CommandSender sender, String[] params) {
+        execute(sender, CommandLine.of(params), 0);
+    }
+
+    /**
+     * Execute the command.
+     *
+     * @param sender        The sender of the command.
+     * @param commandLine   The tokenized command line.
+     * @param firstArgument The index of the first token typed after the command name.
+     */
+    public void execute(CommandSender sender, CommandLine commandLine, int firstArgument) {
+
+        if(!(sender instanceof Player)) {
+            if (getName().equalsIgnoreCase("stop")) {
+                Bukkit.getServer().shutdown();
+                return;
+            }
+        }
+
+        // We start to build the parameters we call the method with here, sized to the method arity.
+        Object[] transformedParameters = new Object[getParameters().size() + 1];
+
+        // Add the sender.
+        // If the method is expecting a Player or a general CommandSender will be handled by Java.
+        transformedParameters[0] = sender;
+
+        // Flags are only looked for before a wildcard, whatever comes after it belongs to the wildcard.
+        int flagsEnd = (flagged ? getWildcardStart(commandLine, firstArgument) : firstArgument);
+        int token = firstArgument;
+        boolean wildcardConsumed = false;
+
+        long transformStart = System.nanoTime();
+        CompletableFuture<?>[] pending = null;
+
+        // Fill in / validate parameters
+        for (int parameterIndex = 0; parameterIndex < getParameters().size(); parameterIndex++) {
+            ParameterData parameter = getParameters().get(parameterIndex);
+            Object result;
+
+            if (parameter.isFlag()) {
+                result = transformFlag(sender, commandLine, parameter, firstArgument, flagsEnd);
+
+                if (result == NO_VALUE) {
+                    continue;
+                }
+            } else {
+                // If it was a wildcard we don't want to bother parsing anything else
+                // (even though there shouldn't have been anything else)
+                if (wildcardConsumed) {
+                    continue;
+                }
+
+                token = skipFlags(commandLine, token);
+                boolean given = token < commandLine.size();
+
+                // We needed a parameter where we didn't get one (where there's no default value available)
+                if (!given && parameter.getDefaultValue().isEmpty()) {
+                    String usage = getUsageString();
+                    sender.sendMessage(ChatUtil.translate("&cMerci d'utiliser " + usage));
+                    return;
+                }
+
+                if (given && parameter.isWildcard()) {
+                    // Wildcards "capture" all strings after them, straight from the typed line.
+                    result = (parameter.getParameterClass() == CharSequence.class
+                            ? commandLine.slice(token)
+                            : transform(sender, commandLine.remainder(token), parameter.getParameterClass()));
+                } else {
+                    String passedParameter = (given ? commandLine.get(token) : parameter.getDefaultValue().trim());
+                    result = transform(sender, passedParameter, parameter.getParameterClass());
+                }
+
+                token++;
+                wildcardConsumed = parameter.isWildcard();
+            }
+
+            // If it's null that means the transformer tried (and failed) at transforming the value.
+            // It'll have sent them a message and such, so we can just return.
+            if (result == null) {
+                return;
+            }
+
+            // Still resolving off-thread, filled in once every pending parameter is done.
+            if (result instanceof Pending pendingResult) {
+                if (pending == null) {
+                    pending = new CompletableFuture<?>[getParameters().size()];
+                }
+                pending[parameterIndex] = pendingResult.future;
+                continue;
+            }
+
+            transformedParameters[parameterIndex + 1] = result;
+        }
+
+        if (pending != null) {
+            resume(sender, transformedParameters, pending, transformStart);
+            return;
+        }
+
+        invoke(sender, transformedParameters, transformStart);
+    }
+
+    /**
+     * Invoke the command once the pending parameters are transformed, on the server thread unless the command is async.
+     */
+    private void resume(CommandSender sender, Object[] transformedParameters, CompletableFuture<?>[] pending, long transformStart) {
+        CompletableFuture<?>[] futures = Arrays.stream(pending).filter(Objects::nonNull).toArray(CompletableFuture<?>[]::new);
+
+        CompletableFuture.allOf(futures).whenComplete((ignored, error) -> {
+            Runnable task = () -> {
+                if (error != null) {
+                    sender.sendMessage(ChatColor.RED + "Une erreur s'est produite lors de la tentative d'exécution de cette commande, veuillez contacter un administrateur.");
+                    error.printStackTrace();
+                    return;
+                }
+
+                for (int parameterIndex = 0; parameterIndex < pending.length; parameterIndex++) {
+                    if (pending[parameterIndex] == null) {
+                        continue;
+                    }
+
+                    Object result = pending[parameterIndex].join();
+
+                    // Same as a synchronous transform, the parameter type already told the sender why.
+                    if (result == null) {
+                        return;
+                    }
+
+                    transformedParameters[parameterIndex + 1] = result;
+                }
+
+                invoke(sender, transformedParameters, transformStart);
+            };
+
+            if (async) {
+                task.run();
+            } else {
+                CommandHandler.runSync(task);
+            }
+        });
+    }
+
+    private void invoke(CommandSender sender, Object[] transformedParameters, long transformStart) {
+        long methodStart = System.nanoTime();
+        metrics.recordTransform(methodStart - transformStart);
+
+        try {
+            invoker.invoke(transformedParameters);
+            metrics.recordMethod(System.nanoTime() - methodStart, false);
+        } catch (Throwable throwable) {
+            metrics.recordMethod(System.nanoTime() - methodStart, true);
+            CommandTrace.trace(TraceLevel.ERROR, "command {} failed, usage {}: {}", getName(), getUsageString(), throwable);
+            sender.sendMessage(ChatColor.RED + "Une erreur s'est produite lors de la tentative d'exécution de cette commande, veuillez contacter un administrateur.");
+            throwable.printStackTrace();
+        }
+    }
+
+    /**
+     * Transform a parameter, through {@link ParameterType#transformAsync(CommandSender, String)} for types asking for it.
+     *
+     * @return The transformed parameter, null if it failed, or a {@link Pending} if it is still being resolved.
+     */
+    private Object transform(CommandSender sender, String value, Class<?> parameterClass) {
+        ParameterType<?> parameterType = CommandHandler.parameterTypes.get(parameterClass);
+
+        if (parameterType == null || !parameterType.isTransformAsync()) {
+            return (CommandHandler.transformParameter(sender, value, parameterClass));
+        }
+
+        CompletableFuture<?> future = parameterType.transformAsync(sender, value);
+
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            return (future.join());
+        }
+
+        return (new Pending(future));
+    }
+
+    private Object transformFlag(CommandSender sender, CommandLine commandLine, ParameterData parameter, int from, int until) {
+        int token = commandLine.findFlag(parameter.getName(), from, until);
+        boolean bool = parameter.getParameterClass() == boolean.class || parameter.getParameterClass() == Boolean.class;
+        String value = (token < 0 ? null : commandLine.getFlagValue(token));
+
+        if (value == null) {
+            if (token >= 0 && bool) {
+                return (Boolean.TRUE);
+            }
+
+            if (parameter.getDefaultValue().isEmpty()) {
+                return (bool ? Boolean.FALSE : NO_VALUE);
+            }
+
+            value = parameter.getDefaultValue().trim();
+        }
+
+        return (transform(sender, value, parameter.getParameterClass()));
+    }
+
+    private int skipFlags(CommandLine commandLine, int token) {
+        while (flagged && token < commandLine.size() && commandLine.isFlag(token)) {
+            token++;
+        }
+        return (token);
+    }
+
+    private int getWildcardStart(CommandLine commandLine, int firstArgument) {
+        int token = firstArgument;
+
+        for (ParameterData parameter : positionalParameters) {
+            token = skipFlags(commandLine, token);
+
+            if (parameter.isWildcard() || token >= commandLine.size()) {
+                return (Math.min(token, commandLine.size()));
+            }
+
+            token++;
+        }
+
+        return (commandLine.size());
+    }
+
+    public static String toString(String[] args, int start) {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (int arg = start; arg < args.length; arg++) {
+            stringBuilder.append(args[arg]).append(" ");
+        }
+
+        return (stringBuilder.toString().trim());
+    }
+
+    private static final class Pending {
+        private final CompletableFuture<?> future;
+
+        private Pending(CompletableFuture<?> future) {
+            this.future = future;
+        }
+    }
+
+}
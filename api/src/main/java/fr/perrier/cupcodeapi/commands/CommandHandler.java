@@ -0,0 +1,812 @@
+package fr.perrier.cupcodeapi.commands;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import fr.perrier.cupcodeapi.commands.annotations.*;
+import fr.perrier.cupcodeapi.commands.annotations.defaults.*;
+import fr.perrier.cupcodeapi.commands.metrics.CommandMetrics;
+import fr.perrier.cupcodeapi.commands.trace.CommandTrace;
+import fr.perrier.cupcodeapi.commands.trace.TraceLevel;
+import fr.perrier.cupcodeapi.utils.*;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.TabCompleter;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class CommandHandler implements Listener {
+
+    private final JavaPlugin plugin;
+    static JavaPlugin owner;
+
+    // Registries read from async threads are immutable snapshots replaced as a whole, see CommandList.
+    @Getter
+    public static final List<CommandData> commands = new CommandList();
+    static volatile Map<Class<?>, ParameterType<?>> parameterTypes = Map.of();
+    static volatile CommandTrie commandTrie = new CommandTrie();
+    // Reflection into the server is resolved once.
+    private static volatile Field commandMapField;
+    private static volatile Field knownCommandsField;
+    static boolean initiated = false;
+
+    // Track registered root commands to avoid duplicates
+    private final Map<String, List<CommandData>> registeredRootCommands = new ConcurrentHashMap<>();
+    private final Set<String> registeredRootCommandNames = ConcurrentHashMap.newKeySet();
+    private final Map<String, CompletionIndex> completionIndexes = new ConcurrentHashMap<>();
+
+    @Getter
+    private AsyncCommandExecutor asyncExecutor = AsyncCommandExecutor.virtualThreads();
+
+    public CommandHandler(JavaPlugin plugin) {
+        this.plugin = plugin;
+        if (owner == null) {
+            owner = plugin;
+        }
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Change the backend running async commands, the previous one is shut down.
+     *
+     * @param asyncExecutor The new backend.
+     */
+    public void setAsyncExecutor(AsyncCommandExecutor asyncExecutor) {
+        AsyncCommandExecutor previous = this.asyncExecutor;
+        this.asyncExecutor = asyncExecutor;
+        previous.shutdown();
+    }
+
+    /**
+     * Run a task on the server thread, typically to post the result of an async command back.
+     * The task runs immediately when already called from the server thread.
+     *
+     * @param task The task.
+     * @return A future completed once the task ran.
+     */
+    public static CompletableFuture<Void> runSync(Runnable task) {
+        return (supplySync(() -> {
+            task.run();
+            return (null);
+        }));
+    }
+
+    /**
+     * Compute a value on the server thread, typically to read Bukkit state from an async command.
+     * The supplier runs immediately when already called from the server thread.
+     *
+     * @param supplier The supplier.
+     * @return A future completed with the value once computed.
+     */
+    public static <T> CompletableFuture<T> supplySync(Supplier<T> supplier) {
+        if (Bukkit.isPrimaryThread()) {
+            try {
+                return (CompletableFuture.completedFuture(supplier.get()));
+            } catch (Throwable throwable) {
+                return (CompletableFuture.failedFuture(throwable));
+            }
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Bukkit.getScheduler().runTask(owner, () -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        });
+        return (future);
+    }
+
+    /**
+     * Register a custom parameter adapter.
+     */
+    public static synchronized void registerParameterType(Class<?> transforms, ParameterType<?> parameterType) {
+        Map<Class<?>, ParameterType<?>> copy = new HashMap<>(parameterTypes);
+        copy.put(transforms, parameterType);
+        parameterTypes = Map.copyOf(copy);
+    }
+
+    /**
+     * Configure the rate limit of commands, overriding their {@link RateLimit} annotation.
+     * <p>
+     * Each key of the section is a command name (any alias), with {@code permits}, {@code per-millis}
+     * and optionally {@code burst} and {@code bypass-permission}. A command with {@code permits: 0} is not limited.
+     *
+     * <pre>
+     * rate-limits:
+     *   pay:
+     *     permits: 2
+     *     per-millis: 1000
+     * </pre>
+     *
+     * @param section The section holding one entry per command.
+     */
+    public static void loadRateLimits(ConfigurationSection section) {
+        for (String name : section.getKeys(false)) {
+            ConfigurationSection limit = section.getConfigurationSection(name);
+            CommandData commandData = getCommand(name);
+
+            if (limit == null || commandData == null) {
+                continue;
+            }
+
+            int permits = limit.getInt("permits", 0);
+            commandData.setRateLimiter(permits <= 0 ? null : new RateLimiter(permits,
+                    TimeUnit.MILLISECONDS.toNanos(limit.getLong("per-millis", 1000)),
+                    limit.getInt("burst", 0), limit.getString("bypass-permission", "")));
+        }
+    }
+
+    /**
+     * Get a registered command.
+     *
+     * @param name Any alias of the command.
+     * @return The command, or null if no command has this alias.
+     */
+    public static CommandData getCommand(String name) {
+        for (CommandData commandData : commands) {
+            for (String alias : commandData.getNames()) {
+                if (alias.equalsIgnoreCase(name)) {
+                    return (commandData);
+                }
+            }
+        }
+        return (null);
+    }
+
+    /**
+     * Get the execution metrics of every registered command, by command name.
+     *
+     * @return The metrics, in registration order.
+     */
+    public static Map<String, CommandMetrics> getMetrics() {
+        Map<String, CommandMetrics> metrics = new LinkedHashMap<>();
+        for (CommandData commandData : commands) {
+            metrics.putIfAbsent(commandData.getName(), commandData.getMetrics());
+        }
+        return (metrics);
+    }
+
+    /**
+     * Get the execution metrics of a command.
+     *
+     * @param name Any alias of the command.
+     * @return The metrics, or null if no command has this alias.
+     */
+    public static CommandMetrics getMetrics(String name) {
+        CommandData commandData = getCommand(name);
+        return (commandData == null ? null : commandData.getMetrics());
+    }
+
+    /**
+     * Registers a single class with the command handler.
+     */
+    public void registerCommands(Class<?> registeredClass) {
+        registerCommands(new Class<?>[]{registeredClass});
+    }
+
+    /**
+     * Registers classes with the command handler.
+     * <p>
+     * Every annotated method is parsed first, then all the commands are published at once: the command list is
+     * sorted once, the command map is looked up once, and the completion index of each root is built once.
+     * Register every class in a single call during startup rather than one call per class.
+     */
+    public void registerCommands(Class<?>... registeredClasses) {
+        long start = System.nanoTime();
+        List<CommandData> parsed = new ArrayList<>();
+
+        for (Class<?> registeredClass : registeredClasses) {
+            for (Method method : registeredClass.getMethods()) {
+                if (method.getAnnotation(fr.perrier.cupcodeapi.commands.annotations.Command.class) != null) {
+                    CommandData commandData = parseMethod(method);
+
+                    if (commandData != null) {
+                        parsed.add(commandData);
+                    }
+                }
+            }
+        }
+
+        publish(parsed);
+
+        plugin.getLogger().info("Registered " + parsed.size() + " commands from " + registeredClasses.length
+                + " classes in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+    }
+
+    /**
+     * Registers the commands generated at build time by the annotation processor for this plugin.
+     * <p>
+     * Registries are found as {@link CommandRegistry} services of the plugin's own jar, so neither the command
+     * classes nor their methods are reflected. Plugins built without the processor can keep calling
+     * {@link #registerCommands(Class[])}.
+     *
+     * @return The number of registries found.
+     */
+    public int registerGeneratedCommands() {
+        ClassLoader classLoader = plugin.getClass().getClassLoader();
+        int registries = 0;
+
+        for (ServiceLoader.Provider<CommandRegistry> provider : ServiceLoader.load(CommandRegistry.class, classLoader).stream().toList()) {
+            // Other plugins visible from this class loader register their own commands.
+            if (provider.type().getClassLoader() == classLoader) {
+                registerCommands(provider.get());
+                registries++;
+            }
+        }
+
+        return (registries);
+    }
+
+    /**
+     * Registers the commands of a registry generated at build time.
+     */
+    public void registerCommands(CommandRegistry registry) {
+        long start = System.nanoTime();
+        List<CommandData> created = registry.createCommands();
+
+        publish(created);
+
+        plugin.getLogger().info("Registered " + created.size() + " generated commands from " + registry.getClass().getSimpleName()
+                + " in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+    }
+
+    /**
+     * Parses a single annotated method.
+     *
+     * @return The command, or null if one of its parameters is not annotated or cannot be bound.
+     */
+    private CommandData parseMethod(Method method) {
+        fr.perrier.cupcodeapi.commands.annotations.Command commandAnnotation =
+                method.getAnnotation(fr.perrier.cupcodeapi.commands.annotations.Command.class);
+        List<ParameterData> parameterData = new ArrayList<>();
+
+        // Offset of 1 here for the sender parameter.
+        for (int parameterIndex = 1; parameterIndex < method.getParameterTypes().length; parameterIndex++) {
+            Param paramAnnotation = null;
+            Flag flagAnnotation = null;
+
+            for (Annotation annotation : method.getParameterAnnotations()[parameterIndex]) {
+                if (annotation instanceof Param) {
+                    paramAnnotation = (Param) annotation;
+                    break;
+                }
+                if (annotation instanceof Flag) {
+                    flagAnnotation = (Flag) annotation;
+                    break;
+                }
+            }
+
+            if (paramAnnotation != null) {
+                parameterData.add(new ParameterData(paramAnnotation, method.getParameterTypes()[parameterIndex]));
+            } else if (flagAnnotation != null) {
+                parameterData.add(new ParameterData(flagAnnotation, method.getParameterTypes()[parameterIndex]));
+            } else {
+                return (null);
+            }
+        }
+
+        try {
+            return (new CommandData(commandAnnotation, parameterData, method,
+                    method.getParameterTypes()[0].isAssignableFrom(Player.class)));
+        } catch (IllegalArgumentException exception) {
+            plugin.getLogger().severe("Command " + method.getName() + " is not registered: " + exception.getMessage());
+            return (null);
+        }
+    }
+
+    /**
+     * Publishes parsed commands to the command handler and to Bukkit's command system.
+     */
+    private void publish(List<CommandData> parsed) {
+        // We sort here so to ensure that our commands are matched properly.
+        ((CommandList) commands).addAllSorted(parsed, (o1, o2) -> (o2.getName().length() - o1.getName().length()));
+
+        synchronized (CommandHandler.class) {
+            // Dispatch may be resolving on another thread, so the trie is changed on a copy then swapped.
+            CommandTrie trie = commandTrie.copy();
+
+            for (CommandData commandData : parsed) {
+                for (String alias : commandData.getNames()) {
+                    trie.insert(alias, commandData);
+                }
+            }
+
+            commandTrie = trie;
+        }
+
+        // Register the commands dynamically with Bukkit
+        registerWithBukkit(parsed);
+    }
+
+    /**
+     * Dynamically registers commands with Bukkit's command system
+     * Handles multi-word commands by registering only the root and treating the rest as sub-commands
+     */
+    private void registerWithBukkit(List<CommandData> parsed) {
+        SimpleCommandMap commandMap;
+        Map<String, Command> knownCommands;
+
+        try {
+            commandMap = getCommandMap();
+            knownCommands = getKnownCommands(commandMap);
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to access the command map, " + parsed.size() + " commands were not registered");
+            e.printStackTrace();
+            return;
+        }
+
+        Set<String> touchedRoots = new HashSet<>();
+
+        for (CommandData commandData : parsed) {
+            try {
+                // Parse all command names to get unique root commands
+                for (String commandName : commandData.getNames()) {
+                    String rootCommand = commandName.split(" ")[0].toLowerCase();
+
+                    // Track this command data under the root command
+                    List<CommandData> rootCommands = registeredRootCommands.computeIfAbsent(rootCommand, k -> new CopyOnWriteArrayList<>());
+                    if (!rootCommands.contains(commandData)) {
+                        rootCommands.add(commandData);
+                    }
+                    touchedRoots.add(rootCommand);
+
+                    // Only register with Bukkit if this root command hasn't been registered yet
+                    if (!registeredRootCommandNames.contains(rootCommand) && !isCommandRegistered(commandMap, knownCommands, rootCommand)) {
+                        registerRootCommand(rootCommand, commandMap);
+                        registeredRootCommandNames.add(rootCommand);
+                    }
+                }
+            } catch (Exception e) {
+                plugin.getLogger().severe("Failed to register command: " + commandData.getName());
+                e.printStackTrace();
+            }
+        }
+
+        for (String rootCommand : touchedRoots) {
+            completionIndexes.put(rootCommand, CompletionIndex.build(rootCommand, registeredRootCommands.get(rootCommand)));
+        }
+    }
+
+    /**
+     * Get the commands known by the command map using reflection
+     *
+     * @return The known commands, or null if they cannot be accessed.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Command> getKnownCommands(SimpleCommandMap commandMap) {
+        try {
+            if (knownCommandsField == null) {
+                Field field = SimpleCommandMap.class.getDeclaredField("knownCommands");
+                field.setAccessible(true);
+                knownCommandsField = field;
+            }
+            return (Map<String, Command>) knownCommandsField.get(commandMap);
+        } catch (Exception e) {
+            return (null);
+        }
+    }
+
+    /**
+     * Check if a command is already registered
+     */
+    private boolean isCommandRegistered(SimpleCommandMap commandMap, Map<String, Command> knownCommands, String commandName) {
+        if (knownCommands != null) {
+            return knownCommands.containsKey(commandName.toLowerCase());
+        }
+
+        // If reflection failed, try alternative approach
+        try {
+            // Try to get the command directly
+            Command existingCommand = commandMap.getCommand(commandName);
+            return existingCommand != null;
+        } catch (Exception e2) {
+            // If all fails, assume not registered to avoid blocking registration
+            plugin.getLogger().warning("Could not check if command '" + commandName + "' is registered. Proceeding with registration.");
+            return false;
+        }
+    }
+
+    /**
+     * Register a root command with Bukkit
+     */
+    private void registerRootCommand(String rootCommand, SimpleCommandMap commandMap) throws Exception {
+        // Create a new PluginCommand instance for the root command only
+        Constructor<org.bukkit.command.PluginCommand> constructor =
+                org.bukkit.command.PluginCommand.class.getDeclaredConstructor(String.class, org.bukkit.plugin.Plugin.class);
+        constructor.setAccessible(true);
+
+        org.bukkit.command.PluginCommand pluginCommand = constructor.newInstance(rootCommand, plugin);
+
+        // Set description and usage
+        pluginCommand.setDescription("Command handler for " + rootCommand);
+        pluginCommand.setUsage("/" + rootCommand + " <subcommand>");
+
+        // Set the executor and tab completer
+        MultiCommandExecutor executor = new MultiCommandExecutor(rootCommand, this);
+        pluginCommand.setExecutor(executor);
+        pluginCommand.setTabCompleter(executor);
+
+        // Register the root command
+        commandMap.register(plugin.getName().toLowerCase(), pluginCommand);
+
+        plugin.getLogger().info("Registered root command: " + rootCommand);
+    }
+
+    /**
+     * Multi-command executor that handles root commands with sub-commands
+     */
+    private class MultiCommandExecutor implements CommandExecutor, TabCompleter {
+        private final String rootCommand;
+        private final CommandHandler handler;
+
+        public MultiCommandExecutor(String rootCommand, CommandHandler handler) {
+            this.rootCommand = rootCommand;
+            this.handler = handler;
+        }
+
+        /**
+         * Handle command execution by finding the appropriate sub-command
+         */
+        @Override
+        public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+            // Build the full command string including sub-commands
+            String fullCommand = label;
+            if (args.length > 0) {
+                fullCommand += " " + String.join(" ", args);
+            }
+
+            // Try to find and execute a matching command
+            CommandData executed = handler.evalCommand(sender, fullCommand);
+
+            if (executed == null) {
+                // No matching command found, show available sub-commands
+                List<CommandData> availableCommands = registeredRootCommands.get(rootCommand.toLowerCase());
+                if (availableCommands != null && !availableCommands.isEmpty()) {
+                    sender.sendMessage(ChatColor.RED + "Unknown sub-command. Available commands:");
+                    for (CommandData cmd : availableCommands) {
+                        if (cmd.canAccess(sender)) {
+                            for (String cmdName : cmd.getNames()) {
+                                if (cmdName.toLowerCase().startsWith(rootCommand.toLowerCase())) {
+                                    String usage = "/" + cmdName;
+                                    if (!cmd.getParameters().isEmpty()) {
+                                        usage += " " + getParameterUsage(cmd);
+                                    }
+                                    sender.sendMessage(ChatColor.GRAY + "- " + usage);
+                                    break; // Only show first matching name
+                                }
+                            }
+                        }
+                    }
+                }
+                return true;
+            }
+
+            return true;
+        }
+
+        @Override
+        public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+            if (!(sender instanceof Player)) {
+                return new ArrayList<>();
+            }
+
+            Player player = (Player) sender;
+            CompletionIndex index = getCompletionIndex(rootCommand);
+            if (index == null) {
+                return new ArrayList<>();
+            }
+
+            BitSet accessible = index.getAccessible(player);
+            String partialLastWord = args.length > 0 ? args[args.length - 1] : "";
+            CommandTrace.trace(TraceLevel.DEBUG, "tab complete root={} args={} partial='{}'", rootCommand, args, partialLastWord);
+
+            // Walk the words typed before the one being completed, remembering the deepest
+            // command reached so its parameters can be completed.
+            CompletionIndex.Node node = index.getRoot();
+            CommandData exactMatch = index.getCommand(node, accessible);
+            int exactMatchDepth = 0;
+
+            for (int argIndex = 0; argIndex < args.length - 1 && node != null; argIndex++) {
+                node = node.getChild(args[argIndex]);
+
+                if (node != null) {
+                    CommandData reached = index.getCommand(node, accessible);
+                    if (reached != null) {
+                        exactMatch = reached;
+                        exactMatchDepth = argIndex + 1;
+                    }
+                }
+            }
+
+            // Prefer suggesting sub-commands first (e.g. '/root s' -> 'sub').
+            if (node != null) {
+                List<String> subCompletions = index.complete(node, partialLastWord, accessible);
+                CommandTrace.trace(TraceLevel.TRACE, "tab complete sub-commands for '{}': {}", partialLastWord, subCompletions);
+                if (!subCompletions.isEmpty()) {
+                    return subCompletions;
+                }
+            }
+
+            // Otherwise tab complete the parameters of the deepest command typed.
+            if (exactMatch != null) {
+                // A lone dash may still become a flag, a negative number never does.
+                if (exactMatch.isFlagged() && (CommandLine.isFlagToken(partialLastWord) || partialLastWord.equals("-") || partialLastWord.equals("--"))) {
+                    return completeFlags(exactMatch, partialLastWord);
+                }
+
+                int parameterIndex = args.length - exactMatchDepth;
+
+                // Flags typed so far do not take a position.
+                for (int argIndex = exactMatchDepth; exactMatch.isFlagged() && argIndex < args.length - 1; argIndex++) {
+                    if (CommandLine.isFlagToken(args[argIndex])) {
+                        parameterIndex--;
+                    }
+                }
+
+                if (parameterIndex > 0 && parameterIndex <= exactMatch.getPositionalParameters().size()) {
+                    ParameterData paramData = exactMatch.getPositionalParameters().get(parameterIndex - 1);
+                    CommandTrace.trace(TraceLevel.TRACE, "tab complete parameter '{}' of '{}'", paramData.getName(), exactMatch.getName());
+
+                    List<String> paramCompletions = tabCompleteParameter(player, partialLastWord,
+                            paramData.getParameterClass(), paramData.getTabCompleteFlags());
+
+                    if (paramCompletions != null) {
+                        return paramCompletions;
+                    }
+                }
+            }
+
+            return new ArrayList<>();
+        }
+
+        /**
+         * Complete the flags of a command, as {@code --name}.
+         */
+        private List<String> completeFlags(CommandData cmd, String partial) {
+            List<String> completions = new ArrayList<>();
+            for (ParameterData param : cmd.getParameters()) {
+                String flag = "--" + param.getName();
+                if (param.isFlag() && flag.regionMatches(true, 0, partial, 0, partial.length())) {
+                    completions.add(flag);
+                }
+            }
+            return completions;
+        }
+
+        /**
+         * Generate usage string for command parameters
+         */
+        private String getParameterUsage(CommandData cmd) {
+            StringBuilder usage = new StringBuilder();
+            for (ParameterData param : cmd.getParameters()) {
+                if (usage.length() > 0) usage.append(" ");
+                if (param.isFlag()) {
+                    usage.append("[-").append(param.getName()).append("]");
+                    continue;
+                }
+                usage.append("<").append(param.getName() != null ? param.getName() : "param").append(">");
+            }
+            return usage.toString();
+        }
+    }
+
+    /**
+     * Get the completion index of a root command, rebuilt if commands were added to it since it was built.
+     */
+    private CompletionIndex getCompletionIndex(String rootCommand) {
+        List<CommandData> rootCommands = registeredRootCommands.get(rootCommand.toLowerCase());
+        if (rootCommands == null) {
+            return (null);
+        }
+
+        CompletionIndex index = completionIndexes.get(rootCommand.toLowerCase());
+        if (index == null || index.size() != rootCommands.size()) {
+            index = CompletionIndex.build(rootCommand.toLowerCase(), rootCommands);
+            completionIndexes.put(rootCommand.toLowerCase(), index);
+        }
+        return (index);
+    }
+
+    /**
+     * Forget the cached tab completion view of a player.
+     * Call {@link #invalidatePermissions(Player)} instead when the permissions of the player change.
+     *
+     * @param player The player.
+     */
+    public void invalidateCompletions(Player player) {
+        for (CompletionIndex index : completionIndexes.values()) {
+            index.invalidate(player.getUniqueId());
+        }
+    }
+
+    /**
+     * Forget the cached permission decisions and tab completion view of a player.
+     * Done when Bukkit recalculates the permissions of the player, call this when the permission plugin changes
+     * them without it (group change, permission set, ...).
+     *
+     * @param player The player.
+     */
+    public void invalidatePermissions(Player player) {
+        PermissionCache.invalidate(player.getUniqueId());
+        invalidateCompletions(player);
+    }
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        invalidatePermissions(event.getPlayer());
+        PlayerResolver.remember(event.getPlayer());
+    }
+
+    // Sent by Bukkit after recalculating the permissions of a player, like when they are opped or deopped, before
+    // the other listeners filter the commands by permission.
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerCommandSend(PlayerCommandSendEvent event) {
+        invalidatePermissions(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        invalidatePermissions(event.getPlayer());
+        AsyncTabCompleter.cancel(event.getPlayer().getUniqueId());
+        PlayerResolver.remember(event.getPlayer());
+
+        for (CommandData commandData : commands) {
+            if (commandData.getRateLimiter() != null) {
+                commandData.getRateLimiter().remove(event.getPlayer().getUniqueId());
+            }
+        }
+    }
+
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (event.getPlugin() == plugin) {
+            asyncExecutor.shutdown();
+        }
+    }
+
+    /**
+     * @return the full command line input of a player before running or tab completing a Core command
+     */
+    public static String[] getParameters(Player player) {
+        return CommandMap.parameters.get(player.getUniqueId());
+    }
+
+    /**
+     * Evaluates and runs a command if found.
+     *
+     * @param sender  The sender of the command.
+     * @param command The full command string, without the leading slash.
+     * @return The CommandData that was executed, or null if no command matched.
+     */
+    public CommandData evalCommand(final CommandSender sender, String command) {
+        long parseStart = System.nanoTime();
+        CommandTrie.Match match = commandTrie.resolve(CommandLine.tokenize(command));
+        long parseTime = System.nanoTime() - parseStart;
+        CommandTrace.trace(TraceLevel.DEBUG, "dispatch '{}' -> {}", command, match == null ? null : match.getCommand().getName());
+
+        if (match == null) {
+            return (null);
+        }
+
+        CommandData found = match.getCommand();
+        found.getMetrics().recordParse(parseTime);
+
+        // Rejected before any parameter is parsed, so spamming a command costs almost nothing.
+        RateLimiter rateLimiter = found.getRateLimiter();
+        if (rateLimiter != null && sender instanceof Player player && !rateLimiter.tryAcquire(player)) {
+            found.getMetrics().recordRejected();
+            CommandTrace.trace(TraceLevel.DEBUG, "rate limited {} on '{}'", sender.getName(), found.getName());
+            sender.sendMessage(ChatUtil.translate("&cVous utilisez cette commande trop rapidement."));
+            return (found);
+        }
+
+        CommandLine commandLine = match.getCommandLine();
+        int firstArgument = match.getFirstArgument();
+
+        if (!(sender instanceof Player) && !found.isConsoleAllowed()) {
+            sender.sendMessage(ChatColor.RED + "This command does not support execution from the console.");
+            return (found);
+        }
+
+        if (!found.canAccess(sender)) {
+            sender.sendMessage(ChatUtil.translate("&cVous n'avez pas la permission d'executer cette commande."));
+            return (found);
+        }
+
+        if (found.isAsync()) {
+            final CommandData foundClone = found;
+            final long submitted = System.nanoTime();
+
+            asyncExecutor.execute(foundClone, () -> {
+                foundClone.getMetrics().recordQueue(System.nanoTime() - submitted);
+                foundClone.execute(sender, commandLine, firstArgument);
+            });
+        } else {
+            found.execute(sender, commandLine, firstArgument);
+        }
+
+        return (found);
+    }
+
+    /**
+     * Transforms a parameter.
+     */
+    static Object transformParameter(CommandSender sender, String parameter, Class<?> transformTo) {
+        if (transformTo.equals(String.class)) {
+            return (parameter);
+        }
+        return (parameterTypes.get(transformTo).transform(sender, parameter));
+    }
+
+    /**
+     * Tab completes a parameter.
+     */
+    static List<String> tabCompleteParameter(Player sender, String parameter, Class<?> transformTo, String[] tabCompleteFlags) {
+        if (!parameterTypes.containsKey(transformTo)) {
+            return (new ArrayList<>());
+        }
+        return (AsyncTabCompleter.complete(sender, parameterTypes.get(transformTo), ImmutableSet.copyOf(tabCompleteFlags), parameter));
+    }
+
+    /**
+     * Initiates the command handler.
+     */
+    public void hook() {
+        Preconditions.checkState(!initiated);
+        initiated = true;
+
+        registerParameterType(boolean.class, new BooleanParameterType());
+        registerParameterType(float.class, new FloatParameterType());
+        registerParameterType(double.class, new DoubleParameterType());
+        registerParameterType(int.class, new IntegerParameterType());
+        registerParameterType(OfflinePlayer.class, new OfflinePlayerParameterType());
+        registerParameterType(Player.class, new PlayerParameterType());
+        registerParameterType(String.class, new StringParameterType());
+    }
+
+    @SneakyThrows
+    public static SimpleCommandMap getCommandMap() {
+        Object server = Bukkit.getServer();
+        if (commandMapField == null) {
+            Field field = server.getClass().getDeclaredField("commandMap");
+            field.setAccessible(true);
+            commandMapField = field;
+        }
+        return (SimpleCommandMap) commandMapField.get(server);
+    }
+}
+
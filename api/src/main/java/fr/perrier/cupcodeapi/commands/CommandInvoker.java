@@ -0,0 +1,55 @@
+package fr.perrier.cupcodeapi.commands;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Calls the static method behind a command with already transformed arguments.
+ */
+@FunctionalInterface
+public interface CommandInvoker {
+
+    /**
+     * Invoke the command.
+     *
+     * @param arguments The sender followed by every transformed parameter, sized to the method arity.
+     * @throws Throwable Anything thrown by the command method itself.
+     */
+    void invoke(Object[] arguments) throws Throwable;
+
+    /**
+     * Compile an invoker for a static command method.
+     * <p>
+     * The method handle is spread to the fixed arity of the method once, so each call is a direct
+     * invocation without the boxing and access checks of {@link Method#invoke(Object, Object...)}.
+     *
+     * @param method The static method to call.
+     * @return The invoker for this method.
+     */
+    static CommandInvoker of(Method method) {
+        MethodHandle handle;
+
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException exception) {
+            // Commands declared in non-public classes, the reflective path used to bypass this as well.
+            method.setAccessible(true);
+
+            try {
+                handle = MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access command method " + method, e);
+            }
+        }
+
+        MethodHandle invoker = handle
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(void.class, Object[].class));
+
+        return arguments -> {
+            invoker.invokeExact(arguments);
+        };
+    }
+}
@@ -0,0 +1,275 @@
+package fr.perrier.cupcodeapi.commands;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * A command line split into tokens in a single pass.
+ * <p>
+ * Tokens are only recorded as offsets into the original line, so nothing is copied until a token is
+ * actually read. Tokens are separated by spaces, a token starting with a double quote runs until the next
+ * double quote (spaces included), and unquoted tokens like {@code -silent} or {@code --reason=grief}
+ * are recognised as flags.
+ */
+public final class CommandLine {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final String line;
+    // Offset of the first character of each token, opening quote included.
+    private int[] rawStarts = EMPTY;
+    // Bounds of the content of each token, quotes excluded.
+    private int[] starts = EMPTY;
+    private int[] ends = EMPTY;
+    private int size;
+
+    private CommandLine(String line) {
+        this.line = line;
+    }
+
+    /**
+     * Tokenize a command line.
+     *
+     * @param line The command line, without the leading slash.
+     * @return The tokenized line.
+     */
+    public static CommandLine tokenize(String line) {
+        CommandLine commandLine = new CommandLine(line);
+        int length = line.length();
+        int index = 0;
+
+        while (index < length) {
+            if (line.charAt(index) == ' ') {
+                index++;
+                continue;
+            }
+
+            int rawStart = index;
+
+            if (line.charAt(index) == '"') {
+                int closing = line.indexOf('"', index + 1);
+                int end = (closing < 0 ? length : closing);
+
+                commandLine.add(rawStart, index + 1, end);
+                index = end + 1;
+            } else {
+                while (index < length && line.charAt(index) != ' ') {
+                    index++;
+                }
+
+                commandLine.add(rawStart, rawStart, index);
+            }
+        }
+
+        return (commandLine);
+    }
+
+    /**
+     * Tokenize arguments already split by Bukkit, joined back with single spaces.
+     *
+     * @param arguments The arguments.
+     * @return The tokenized arguments.
+     */
+    public static CommandLine of(String[] arguments) {
+        return (tokenize(String.join(" ", arguments)));
+    }
+
+    private void add(int rawStart, int start, int end) {
+        if (size == starts.length) {
+            int capacity = Math.max(8, size * 2);
+            rawStarts = Arrays.copyOf(rawStarts, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+        }
+
+        rawStarts[size] = rawStart;
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    /**
+     * @return The original command line.
+     */
+    public String getLine() {
+        return line;
+    }
+
+    /**
+     * @return The number of tokens.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param token The index of a token.
+     * @return The offset of the first character of its content.
+     */
+    public int getStart(int token) {
+        return starts[token];
+    }
+
+    /**
+     * @param token The index of a token.
+     * @return The offset right after the last character of its content.
+     */
+    public int getEnd(int token) {
+        return ends[token];
+    }
+
+    /**
+     * @param token The index of a token.
+     * @return The content of the token, without its quotes.
+     */
+    public String get(int token) {
+        return (line.substring(starts[token], ends[token]));
+    }
+
+    /**
+     * @param token The index of a token.
+     * @return True if the token was written between double quotes.
+     */
+    public boolean isQuoted(int token) {
+        return (rawStarts[token] != starts[token]);
+    }
+
+    /**
+     * Check if a token matches a word, ignoring case, without copying it.
+     *
+     * @param token The index of a token.
+     * @param word  The word.
+     * @return True if the content of the token is the word.
+     */
+    public boolean matches(int token, String word) {
+        int length = ends[token] - starts[token];
+        return (length == word.length() && line.regionMatches(true, starts[token], word, 0, length));
+    }
+
+    /**
+     * A flag is an unquoted token made of one or two dashes followed by a letter, like {@code -s} or {@code --reason=grief}.
+     *
+     * @param token The index of a token.
+     * @return True if the token is a flag.
+     */
+    public boolean isFlag(int token) {
+        if (isQuoted(token)) {
+            return (false);
+        }
+
+        return (isFlag(line, starts[token], ends[token]));
+    }
+
+    /**
+     * Check if a single word is a flag, the same way {@link #isFlag(int)} checks an unquoted token.
+     *
+     * @param word The word.
+     * @return True if the word is a flag.
+     */
+    public static boolean isFlagToken(String word) {
+        return (isFlag(word, 0, word.length()));
+    }
+
+    private static boolean isFlag(String line, int start, int end) {
+        int nameStart = getFlagNameStart(line, start, end);
+        return (nameStart > start && nameStart < end && Character.isLetter(line.charAt(nameStart)));
+    }
+
+    /**
+     * Check if a flag token has a name, ignoring case.
+     *
+     * @param token The index of a flag token.
+     * @param name  The name of the flag, without dashes.
+     * @return True if the flag has this name.
+     */
+    public boolean isFlag(int token, String name) {
+        if (!isFlag(token)) {
+            return (false);
+        }
+
+        int nameStart = getFlagNameStart(line, starts[token], ends[token]);
+        int nameEnd = getFlagNameEnd(token);
+        return (nameEnd - nameStart == name.length() && line.regionMatches(true, nameStart, name, 0, name.length()));
+    }
+
+    /**
+     * @param token The index of a flag token.
+     * @return The value after the {@code =} of the flag, or null if the flag has no value.
+     */
+    public String getFlagValue(int token) {
+        int nameEnd = getFlagNameEnd(token);
+        return (nameEnd < ends[token] ? line.substring(nameEnd + 1, ends[token]) : null);
+    }
+
+    /**
+     * Find a flag by name.
+     *
+     * @param name  The name of the flag, without dashes.
+     * @param from  The first token to look at.
+     * @param until The token to stop at, excluded.
+     * @return The index of the flag token, or -1 if it was not given.
+     */
+    public int findFlag(String name, int from, int until) {
+        for (int token = from; token < until; token++) {
+            if (isFlag(token, name)) {
+                return (token);
+            }
+        }
+        return (-1);
+    }
+
+    /**
+     * Everything typed from a token to the end of the line, as a view over the original line.
+     * Trailing spaces are left out.
+     *
+     * @param token The index of the first token.
+     * @return The remainder of the line, without copying it.
+     */
+    public CharSequence slice(int token) {
+        return (CharBuffer.wrap(line, rawStarts[token], getTrimmedEnd()));
+    }
+
+    /**
+     * Everything typed from a token to the end of the line.
+     *
+     * @param token The index of the first token.
+     * @return The remainder of the line.
+     */
+    public String remainder(int token) {
+        return (line.substring(rawStarts[token], getTrimmedEnd()));
+    }
+
+    private int getTrimmedEnd() {
+        int end = line.length();
+
+        while (end > 0 && line.charAt(end - 1) == ' ') {
+            end--;
+        }
+
+        return (end);
+    }
+
+    private static int getFlagNameStart(String line, int start, int end) {
+        int index = start;
+
+        if (index < end && line.charAt(index) == '-') {
+            index++;
+
+            if (index < end && line.charAt(index) == '-') {
+                index++;
+            }
+        }
+
+        return (index);
+    }
+
+    private int getFlagNameEnd(int token) {
+        int equals = line.indexOf('=', starts[token]);
+        return (equals < 0 || equals >= ends[token] ? ends[token] : equals);
+    }
+
+    @Override
+    public String toString() {
+        return line;
+    }
+}
@@ -0,0 +1,100 @@
+package fr.perrier.cupcodeapi.commands;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * Copy-on-write list of the registered commands.
+ * <p>
+ * The content is an immutable snapshot published through a volatile field: readers, including async commands
+ * and async tab completion, never lock and always see a complete, sorted list. Every change copies the list
+ * under a lock, so a batch of commands is published with {@link #addAllSorted(Collection, Comparator)} in a
+ * single copy rather than one per command.
+ */
+final class CommandList extends AbstractList<CommandData> implements RandomAccess {
+
+    private volatile List<CommandData> snapshot = List.of();
+
+    /**
+     * @return The current content, which never changes.
+     */
+    List<CommandData> getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Add commands and sort the result, published as one change.
+     *
+     * @param added      The commands to add.
+     * @param comparator The order of the list.
+     */
+    synchronized void addAllSorted(Collection<CommandData> added, Comparator<CommandData> comparator) {
+        List<CommandData> copy = new ArrayList<>(snapshot);
+        copy.addAll(added);
+        copy.sort(comparator);
+        snapshot = List.copyOf(copy);
+    }
+
+    @Override
+    public CommandData get(int index) {
+        return snapshot.get(index);
+    }
+
+    @Override
+    public int size() {
+        return snapshot.size();
+    }
+
+    // Iterations read a single snapshot, whatever is published meanwhile.
+
+    @Override
+    public Iterator<CommandData> iterator() {
+        return snapshot.iterator();
+    }
+
+    @Override
+    public Spliterator<CommandData> spliterator() {
+        return snapshot.spliterator();
+    }
+
+    @Override
+    public synchronized CommandData set(int index, CommandData commandData) {
+        List<CommandData> copy = new ArrayList<>(snapshot);
+        CommandData previous = copy.set(index, commandData);
+        snapshot = List.copyOf(copy);
+        return (previous);
+    }
+
+    @Override
+    public synchronized void add(int index, CommandData commandData) {
+        List<CommandData> copy = new ArrayList<>(snapshot);
+        copy.add(index, commandData);
+        snapshot = List.copyOf(copy);
+    }
+
+    @Override
+    public synchronized CommandData remove(int index) {
+        List<CommandData> copy = new ArrayList<>(snapshot);
+        CommandData removed = copy.remove(index);
+        snapshot = List.copyOf(copy);
+        return (removed);
+    }
+
+    @Override
+    public synchronized void sort(Comparator<? super CommandData> comparator) {
+        List<CommandData> copy = new ArrayList<>(snapshot);
+        copy.sort(comparator);
+        snapshot = List.copyOf(copy);
+    }
+
+    @Override
+    public synchronized void clear() {
+        snapshot = List.of();
+    }
+}
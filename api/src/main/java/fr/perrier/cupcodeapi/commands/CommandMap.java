@@ -1,18 +1,19 @@
 package fr.perrier.cupcodeapi.commands;
 
-import org.bukkit.Bukkit;
+import fr.perrier.cupcodeapi.commands.trace.CommandTrace;
+import fr.perrier.cupcodeapi.commands.trace.TraceLevel;
 import org.bukkit.Server;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.SimpleCommandMap;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class CommandMap extends SimpleCommandMap {
 
-    static Map<UUID, String[]> parameters = new HashMap<>();
+    static final Map<UUID, String[]> parameters = new ConcurrentHashMap<>();
 
     public CommandMap(Server server) {
         super(server);
@@ -20,7 +21,7 @@ public final class CommandMap extends SimpleCommandMap {
 
     @Override
     public List<String> tabComplete(CommandSender sender, String cmdLine) {
-        Bukkit.broadcastMessage(sender.getName() + " " + cmdLine);
+        CommandTrace.trace(TraceLevel.DEBUG, "command map tab complete {} '{}'", sender.getName(), cmdLine);
         return super.tabComplete(sender,cmdLine);
     }
 
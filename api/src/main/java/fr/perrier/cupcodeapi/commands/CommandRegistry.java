@@ -0,0 +1,18 @@
+package fr.perrier.cupcodeapi.commands;
+
+import java.util.List;
+
+/**
+ * Commands of a plugin known at build time.
+ * <p>
+ * The {@code cupcodeapi-processor} annotation processor generates an implementation for every {@code @Command}
+ * method of a plugin, calling the methods directly and with their parameters already described, and lists it
+ * as a service. {@link CommandHandler#registerGeneratedCommands()} then registers them without any reflection.
+ */
+public interface CommandRegistry {
+
+    /**
+     * @return A new instance of every command of this registry.
+     */
+    List<CommandData> createCommands();
+}
@@ -0,0 +1,192 @@
+package fr.perrier.cupcodeapi.commands;
+
+import java.util.Arrays;
+
+/**
+ * Token-level prefix tree of every registered command alias.
+ * <p>
+ * Each edge is one lower-cased word of an alias ({@code root -> sub -> subsub}), so resolving a command
+ * line costs one lookup per typed word instead of a scan over every registered {@link CommandData}.
+ * The next words of a node are kept sorted and compared in place against the tokens of the
+ * {@link CommandLine}, so resolving does not copy any typed word.
+ * <p>
+ * A published tree is never changed: aliases are inserted into a {@link #copy()} which then replaces it.
+ */
+final class CommandTrie {
+
+    private String[] words = new String[0];
+    private CommandTrie[] children = new CommandTrie[0];
+    private CommandData command;
+
+    /**
+     * Register a command under one of its aliases.
+     * The first command registered for an alias keeps it.
+     *
+     * @param alias       The alias, words separated by a single space.
+     * @param commandData The command to resolve for this alias.
+     */
+    void insert(String alias, CommandData commandData) {
+        CommandTrie node = this;
+
+        for (String word : alias.toLowerCase().split(" ")) {
+            int index = Arrays.binarySearch(node.words, word);
+
+            if (index < 0) {
+                index = -index - 1;
+                node.words = insertAt(node.words, index, word);
+                node.children = insertAt(node.children, index, new CommandTrie());
+            }
+
+            node = node.children[index];
+        }
+
+        if (node.command == null) {
+            node.command = commandData;
+        }
+    }
+
+    /**
+     * Copy the whole tree, so aliases can be added to the copy while this one is still being read.
+     *
+     * @return The copy.
+     */
+    CommandTrie copy() {
+        CommandTrie copy = new CommandTrie();
+        copy.words = words;
+        copy.children = new CommandTrie[children.length];
+        copy.command = command;
+
+        for (int index = 0; index < children.length; index++) {
+            copy.children[index] = children[index].copy();
+        }
+
+        return (copy);
+    }
+
+    /**
+     * Find the longest alias matching the start of a command line.
+     * <p>
+     * A command without parameters only matches when nothing is typed after its alias,
+     * in which case a shorter alias accepting parameters is used instead. If there is none, the command
+     * without parameters still runs and the words typed after it are ignored.
+     *
+     * @param commandLine The full command line, without the leading slash.
+     * @return The matched command and the index of its first argument, or null if no alias matches.
+     */
+    Match resolve(CommandLine commandLine) {
+        CommandTrie node = this;
+        CommandData found = null;
+        int consumed = 0;
+        CommandData fallback = null;
+        int fallbackConsumed = 0;
+
+        for (int token = 0; token < commandLine.size(); token++) {
+            node = node.getChild(commandLine, token);
+
+            if (node == null) {
+                break;
+            }
+
+            if (node.command == null) {
+                continue;
+            }
+
+            if (token + 1 == commandLine.size() || !node.command.getParameters().isEmpty()) {
+                found = node.command;
+                consumed = token + 1;
+            } else {
+                fallback = node.command;
+                fallbackConsumed = token + 1;
+            }
+        }
+
+        if (found == null) {
+            if (fallback == null) {
+                return (null);
+            }
+
+            found = fallback;
+            consumed = fallbackConsumed;
+        }
+
+        return (new Match(found, commandLine, consumed));
+    }
+
+    private CommandTrie getChild(CommandLine commandLine, int token) {
+        int low = 0;
+        int high = words.length - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(words[middle], commandLine, token);
+
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return children[middle];
+            }
+        }
+
+        return (null);
+    }
+
+    /**
+     * Compare a lower-cased word with a typed token the same way {@link String#compareTo(String)} would
+     * compare it with the lower-cased token.
+     */
+    private static int compare(String word, CommandLine commandLine, int token) {
+        String line = commandLine.getLine();
+        int start = commandLine.getStart(token);
+        int length = commandLine.getEnd(token) - start;
+        int common = Math.min(word.length(), length);
+
+        for (int index = 0; index < common; index++) {
+            char typed = Character.toLowerCase(line.charAt(start + index));
+
+            if (word.charAt(index) != typed) {
+                return (word.charAt(index) - typed);
+            }
+        }
+
+        return (word.length() - length);
+    }
+
+    private static <T> T[] insertAt(T[] array, int index, T element) {
+        T[] copy = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, index, copy, index + 1, array.length - index);
+        copy[index] = element;
+        return (copy);
+    }
+
+    /**
+     * A resolved command together with the line it was typed in.
+     */
+    static final class Match {
+        private final CommandData command;
+        private final CommandLine commandLine;
+        private final int firstArgument;
+
+        Match(CommandData command, CommandLine commandLine, int firstArgument) {
+            this.command = command;
+            this.commandLine = commandLine;
+            this.firstArgument = firstArgument;
+        }
+
+        CommandData getCommand() {
+            return command;
+        }
+
+        CommandLine getCommandLine() {
+            return commandLine;
+        }
+
+        /**
+         * @return The index of the first token typed after the alias.
+         */
+        int getFirstArgument() {
+            return firstArgument;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package fr.perrier.cupcodeapi.commands;
+
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable, pre-tokenized view of every command registered under one root command, used for tab completion.
+ * <p>
+ * Every alias is split into lower-cased words once, and each level of the resulting tree keeps its next words
+ * in a sorted array so a partial word is completed with a binary search. Each command gets an index, and each
+ * node records which commands are reachable below it, so the permission check of a player is done once per
+ * command and then cached as a {@link BitSet} until {@link #invalidate(UUID)} is called.
+ */
+final class CompletionIndex {
+
+    private final List<CommandData> commands;
+    private final Node root;
+    private final Map<UUID, View> views = new ConcurrentHashMap<>();
+
+    private CompletionIndex(List<CommandData> commands, Node root) {
+        this.commands = commands;
+        this.root = root;
+    }
+
+    /**
+     * Build the index of a root command.
+     *
+     * @param rootCommand The lower-cased root command.
+     * @param commands    The commands registered under this root, in registration order.
+     * @return The completion index.
+     */
+    static CompletionIndex build(String rootCommand, List<CommandData> commands) {
+        List<CommandData> indexed = new ArrayList<>(commands);
+        Builder root = new Builder();
+
+        for (int commandIndex = 0; commandIndex < indexed.size(); commandIndex++) {
+            CommandData commandData = indexed.get(commandIndex);
+
+            for (String name : commandData.getNames()) {
+                String[] words = name.toLowerCase().split(" ");
+
+                if (!words[0].equals(rootCommand)) {
+                    continue;
+                }
+
+                Builder node = root;
+                node.subtree.set(commandIndex);
+
+                for (int wordIndex = 1; wordIndex < words.length; wordIndex++) {
+                    node = node.children.computeIfAbsent(words[wordIndex], k -> new Builder());
+                    node.subtree.set(commandIndex);
+                }
+
+                if (!node.terminals.contains(commandIndex)) {
+                    node.terminals.add(commandIndex);
+                }
+            }
+        }
+
+        return (new CompletionIndex(Collections.unmodifiableList(indexed), root.freeze()));
+    }
+
+    /**
+     * @return The number of commands this index was built from.
+     */
+    int size() {
+        return commands.size();
+    }
+
+    /**
+     * @return The node of the root command itself.
+     */
+    Node getRoot() {
+        return root;
+    }
+
+    /**
+     * Get the commands a player may use, computed once and cached until invalidated or until the player's
+     * operator status changes.
+     *
+     * @param player The player completing a command.
+     * @return The indexes of the accessible commands.
+     */
+    BitSet getAccessible(Player player) {
+        UUID uuid = player.getUniqueId();
+        View view = (uuid == null ? null : views.get(uuid));
+
+        if (view == null || view.op != player.isOp()) {
+            BitSet accessible = new BitSet(commands.size());
+
+            for (int commandIndex = 0; commandIndex < commands.size(); commandIndex++) {
+                if (commands.get(commandIndex).canAccess(player)) {
+                    accessible.set(commandIndex);
+                }
+            }
+
+            view = new View(accessible, player.isOp());
+
+            if (uuid != null) {
+                views.put(uuid, view);
+            }
+        }
+
+        return view.accessible;
+    }
+
+    /**
+     * Forget the cached permission view of a player.
+     *
+     * @param uuid The player's UUID.
+     */
+    void invalidate(UUID uuid) {
+        views.remove(uuid);
+    }
+
+    /**
+     * Get the first accessible command ending at a node.
+     *
+     * @param node       The node.
+     * @param accessible The accessible commands of the player.
+     * @return The command, or null if none is accessible.
+     */
+    CommandData getCommand(Node node, BitSet accessible) {
+        for (int commandIndex : node.terminals) {
+            if (accessible.get(commandIndex)) {
+                return commands.get(commandIndex);
+            }
+        }
+        return (null);
+    }
+
+    /**
+     * Complete the next word after a node.
+     *
+     * @param node       The node of the words typed so far.
+     * @param partial    The partially typed next word.
+     * @param accessible The accessible commands of the player.
+     * @return The matching next words leading to at least one accessible command, in alphabetical order.
+     */
+    List<String> complete(Node node, String partial, BitSet accessible) {
+        String prefix = partial.toLowerCase();
+        List<String> completions = new ArrayList<>();
+        int index = Arrays.binarySearch(node.words, prefix);
+
+        if (index < 0) {
+            index = -index - 1;
+        }
+
+        for (; index < node.words.length && node.words[index].startsWith(prefix); index++) {
+            if (node.children[index].subtree.intersects(accessible)) {
+                completions.add(node.words[index]);
+            }
+        }
+
+        return (completions);
+    }
+
+    /**
+     * A level of the index, its next words are sorted for binary search.
+     */
+    static final class Node {
+        private final String[] words;
+        private final Node[] children;
+        private final int[] terminals;
+        private final BitSet subtree;
+
+        private Node(String[] words, Node[] children, int[] terminals, BitSet subtree) {
+            this.words = words;
+            this.children = children;
+            this.terminals = terminals;
+            this.subtree = subtree;
+        }
+
+        /**
+         * @param word A typed word.
+         * @return The node below this one for the word, or null if no alias continues with it.
+         */
+        Node getChild(String word) {
+            int index = Arrays.binarySearch(words, word.toLowerCase());
+            return (index < 0 ? null : children[index]);
+        }
+    }
+
+    private static final class Builder {
+        private final TreeMap<String, Builder> children = new TreeMap<>();
+        private final List<Integer> terminals = new ArrayList<>();
+        private final BitSet subtree = new BitSet();
+
+        private Node freeze() {
+            String[] words = children.keySet().toArray(new String[0]);
+            Node[] frozen = new Node[words.length];
+
+            for (int index = 0; index < words.length; index++) {
+                frozen[index] = children.get(words[index]).freeze();
+            }
+
+            return (new Node(words, frozen, terminals.stream().mapToInt(Integer::intValue).toArray(), subtree));
+        }
+    }
+
+    private static final class View {
+        private final BitSet accessible;
+        private final boolean op;
+
+        private View(BitSet accessible, boolean op) {
+            this.accessible = accessible;
+            this.op = op;
+        }
+    }
+}
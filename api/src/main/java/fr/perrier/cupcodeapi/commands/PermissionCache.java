@@ -0,0 +1,112 @@
+package fr.perrier.cupcodeapi.commands;
+
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the permission checks made for commands, per player and permission node.
+ * <p>
+ * Permission plugins may resolve {@link Player#hasPermission(String)} through inheritance and contexts, which
+ * is too slow to repeat for every command considered on each dispatch and tab completion. Decisions are
+ * kept {@link #getTtl()} milliseconds at most, and forgotten sooner when the player is opped or deopped, joins,
+ * quits, when Bukkit recalculates their permissions and sends them their commands again, or when
+ * {@link CommandHandler#invalidatePermissions(Player)} is called.
+ */
+public final class PermissionCache {
+
+    private static final Map<UUID, Decisions> decisions = new ConcurrentHashMap<>();
+    private static volatile long ttl = 5000;
+
+    private PermissionCache() {
+    }
+
+    /**
+     * @return How long a permission decision is kept, in milliseconds.
+     */
+    public static long getTtl() {
+        return (ttl);
+    }
+
+    /**
+     * Set how long a permission decision is kept, for permission plugins which change permissions without
+     * recalculating the player.
+     *
+     * @param duration The time to live.
+     * @param unit     The unit of the time to live.
+     */
+    public static void setTtl(long duration, TimeUnit unit) {
+        ttl = unit.toMillis(duration);
+    }
+
+    /**
+     * Check a permission of a player, computing it only if it is not already known.
+     *
+     * @param player     The player.
+     * @param permission The permission node.
+     * @return True if the player has the permission.
+     */
+    public static boolean hasPermission(Player player, String permission) {
+        UUID uuid = player.getUniqueId();
+
+        // Nothing is cached after the player quit, as no quit event would remove it.
+        if (uuid == null || !player.isOnline()) {
+            return (player.hasPermission(permission));
+        }
+
+        Decisions playerDecisions = decisions.get(uuid);
+        if (playerDecisions == null || playerDecisions.isStale(player)) {
+            playerDecisions = decisions.compute(uuid, (key, current) ->
+                    current == null || current.isStale(player) ? new Decisions(player.isOp()) : current);
+        }
+        boolean allowed = playerDecisions.permissions.computeIfAbsent(permission, player::hasPermission);
+
+        // The player may have quit meanwhile, while an async command was checking it.
+        if (!player.isOnline()) {
+            decisions.remove(uuid, playerDecisions);
+        }
+
+        return (allowed);
+    }
+
+    /**
+     * Forget every decision made for a player.
+     *
+     * @param uuid The player's UUID.
+     */
+    public static void invalidate(UUID uuid) {
+        if (uuid != null) {
+            decisions.remove(uuid);
+        }
+    }
+
+    /**
+     * Forget every decision made, for example after reloading the permission plugin.
+     */
+    public static void invalidateAll() {
+        decisions.clear();
+    }
+
+    /**
+     * The decisions made for a player since they were last invalidated.
+     */
+    private static final class Decisions {
+        private final Map<String, Boolean> permissions = new ConcurrentHashMap<>();
+        private final boolean op;
+        private final long createdAt = System.nanoTime();
+
+        private Decisions(boolean op) {
+            this.op = op;
+        }
+
+        /**
+         * @return True if the decisions are too old, or were made before the player was opped or deopped.
+         */
+        private boolean isStale(Player player) {
+            return (System.nanoTime() - createdAt >= TimeUnit.MILLISECONDS.toNanos(ttl) || player.isOp() != op);
+        }
+    }
+}
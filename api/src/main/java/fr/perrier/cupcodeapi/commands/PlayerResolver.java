@@ -0,0 +1,207 @@
+package fr.perrier.cupcodeapi.commands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves player names typed in commands, shared by the player parameter types.
+ * <p>
+ * Names are remembered with the UUID they resolved to, in a bounded least recently used cache whose entries
+ * expire after a while, and refreshed whenever a player joins or quits. A known name then resolves with a
+ * lookup by UUID, which never leaves the server. Unknown offline names may need a profile lookup, which
+ * {@link #getOfflinePlayerAsync(String)} runs off the server thread.
+ */
+public final class PlayerResolver {
+
+    private static final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return (size() > maximumSize);
+        }
+    };
+    private static final Executor lookups = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("cupcode-player-lookup-", 0).factory());
+
+    private static volatile int maximumSize = 1024;
+    private static volatile long ttl = TimeUnit.MINUTES.toNanos(10);
+
+    private PlayerResolver() {
+    }
+
+    /**
+     * Bound the number of names remembered.
+     *
+     * @param size The maximum number of names, the least recently used ones are forgotten first.
+     */
+    public static void setMaximumSize(int size) {
+        maximumSize = size;
+    }
+
+    /**
+     * Set how long a name is trusted once resolved.
+     *
+     * @param duration The duration.
+     * @param unit     The unit of the duration.
+     */
+    public static void setTtl(long duration, TimeUnit unit) {
+        ttl = unit.toNanos(duration);
+    }
+
+    /**
+     * Find an online player, by exact name first then by the start of a name like {@link Bukkit#getPlayer(String)}.
+     *
+     * @param name The typed name.
+     * @return The player, or null if no online player matches.
+     */
+    public static Player getPlayer(String name) {
+        UUID uuid = lookup(name);
+
+        if (uuid != null) {
+            Player player = Bukkit.getPlayer(uuid);
+
+            if (player != null && player.getName().equalsIgnoreCase(name)) {
+                return (player);
+            }
+        }
+
+        Player player = Bukkit.getPlayer(name);
+
+        if (player != null) {
+            remember(player);
+        }
+
+        return (player);
+    }
+
+    /**
+     * Find a player by name without any profile lookup.
+     *
+     * @param name The exact name.
+     * @return The player, or null if the name is neither remembered nor online.
+     */
+    public static OfflinePlayer getKnownOfflinePlayer(String name) {
+        UUID uuid = lookup(name);
+
+        if (uuid != null) {
+            return (Bukkit.getOfflinePlayer(uuid));
+        }
+
+        Player player = Bukkit.getPlayerExact(name);
+
+        if (player != null) {
+            remember(player);
+        }
+
+        return (player);
+    }
+
+    /**
+     * Find a player by name, looking the profile up on the calling thread if the name is unknown.
+     *
+     * @param name The exact name.
+     * @return The player.
+     */
+    public static OfflinePlayer getOfflinePlayer(String name) {
+        OfflinePlayer known = getKnownOfflinePlayer(name);
+
+        if (known != null) {
+            return (known);
+        }
+
+        OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(name);
+
+        if (offlinePlayer != null && offlinePlayer.getUniqueId() != null) {
+            remember(name, offlinePlayer.getUniqueId());
+        }
+
+        return (offlinePlayer);
+    }
+
+    /**
+     * Find a player by name, looking the profile up on another thread if the name is unknown.
+     *
+     * @param name The exact name.
+     * @return The player, already completed if the name is known.
+     */
+    public static CompletableFuture<OfflinePlayer> getOfflinePlayerAsync(String name) {
+        OfflinePlayer known = getKnownOfflinePlayer(name);
+
+        if (known != null) {
+            return (CompletableFuture.completedFuture(known));
+        }
+
+        return (CompletableFuture.supplyAsync(() -> getOfflinePlayer(name), lookups));
+    }
+
+    /**
+     * Remember the current name of a player, called on join and quit.
+     *
+     * @param player The player.
+     */
+    public static void remember(Player player) {
+        remember(player.getName(), player.getUniqueId());
+    }
+
+    /**
+     * Remember the UUID a name belongs to.
+     *
+     * @param name The name.
+     * @param uuid The UUID.
+     */
+    public static void remember(String name, UUID uuid) {
+        if (name == null || uuid == null) {
+            return;
+        }
+
+        synchronized (entries) {
+            entries.put(name.toLowerCase(), new Entry(uuid, System.nanoTime() + ttl));
+        }
+    }
+
+    /**
+     * Forget every remembered name.
+     */
+    public static void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private static UUID lookup(String name) {
+        String key = name.toLowerCase();
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+
+            if (entry == null) {
+                return (null);
+            }
+
+            if (System.nanoTime() - entry.expiresAt > 0) {
+                entries.remove(key);
+                return (null);
+            }
+
+            return (entry.uuid);
+        }
+    }
+
+    private static final class Entry {
+        private final UUID uuid;
+        private final long expiresAt;
+
+        private Entry(UUID uuid, long expiresAt) {
+            this.uuid = uuid;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package fr.perrier.cupcodeapi.commands;
+
+import fr.perrier.cupcodeapi.commands.annotations.RateLimit;
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-player token buckets of one command.
+ * <p>
+ * Each bucket is stored as a single timestamp, the time at which it will be full again (the generic cell rate
+ * algorithm): a call is allowed while that time is less than a burst ahead of now, and pushes it one permit
+ * interval further. Buckets live in an open-addressing table keyed by the two halves of the player's UUID,
+ * so a call costs a hash probe and no allocation. Full buckets are dropped when the table grows.
+ */
+public final class RateLimiter {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int permits;
+    private final long period;
+    private final int burst;
+    private final String bypassPermission;
+    // Nanoseconds between two permits, and how far ahead of now a bucket may be.
+    private final long interval;
+    private final long tolerance;
+
+    private long[] mostBits = new long[INITIAL_CAPACITY];
+    private long[] leastBits = new long[INITIAL_CAPACITY];
+    private long[] fullAt = new long[INITIAL_CAPACITY];
+    private boolean[] used = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @param permits          The calls allowed per period.
+     * @param period           The period in nanoseconds.
+     * @param burst            The calls allowed at once after a pause, 0 to use permits.
+     * @param bypassPermission Players with this permission are not limited, empty for none.
+     */
+    public RateLimiter(int permits, long period, int burst, String bypassPermission) {
+        if (permits <= 0 || period <= 0) {
+            throw new IllegalArgumentException("A rate limit needs positive permits and period");
+        }
+
+        this.permits = permits;
+        this.period = period;
+        this.burst = (burst > 0 ? burst : permits);
+        this.bypassPermission = bypassPermission;
+        this.interval = Math.max(1, period / permits);
+        this.tolerance = (this.burst - 1) * interval;
+    }
+
+    /**
+     * @return The rate limiter described by an annotation.
+     */
+    public static RateLimiter of(RateLimit rateLimit) {
+        return (new RateLimiter(rateLimit.permits(), rateLimit.unit().toNanos(rateLimit.per()), rateLimit.burst(), rateLimit.bypassPermission()));
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public long getPeriod(TimeUnit unit) {
+        return unit.convert(period, TimeUnit.NANOSECONDS);
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Take a permit for a player.
+     *
+     * @param player The player running the command.
+     * @return False if the player is over the limit and the call must be rejected.
+     */
+    public boolean tryAcquire(Player player) {
+        if (!bypassPermission.isEmpty() && PermissionCache.hasPermission(player, bypassPermission)) {
+            return (true);
+        }
+
+        UUID uuid = player.getUniqueId();
+        return (uuid == null || tryAcquire(uuid, System.nanoTime()));
+    }
+
+    synchronized boolean tryAcquire(UUID uuid, long now) {
+        long most = uuid.getMostSignificantBits();
+        long least = uuid.getLeastSignificantBits();
+        int slot = find(most, least);
+        long next = (slot >= 0 && fullAt[slot] - now > 0 ? fullAt[slot] : now);
+
+        if (next - now > tolerance) {
+            return (false);
+        }
+
+        if (slot < 0) {
+            if ((size + 1) * 4 > used.length * 3) {
+                rehash(now);
+            }
+            slot = insert(most, least);
+        }
+
+        fullAt[slot] = next + interval;
+        return (true);
+    }
+
+    /**
+     * Forget the bucket of a player, called when the player quits.
+     *
+     * @param uuid The player's UUID.
+     */
+    public synchronized void remove(UUID uuid) {
+        int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+
+        if (slot < 0) {
+            return;
+        }
+
+        // Backward shift deletion, so no probe chain is broken by the hole.
+        int mask = used.length - 1;
+        int hole = slot;
+        used[hole] = false;
+        size--;
+
+        for (int index = (hole + 1) & mask; used[index]; index = (index + 1) & mask) {
+            int home = home(mostBits[index], leastBits[index]);
+
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                mostBits[hole] = mostBits[index];
+                leastBits[hole] = leastBits[index];
+                fullAt[hole] = fullAt[index];
+                used[hole] = true;
+                used[index] = false;
+                hole = index;
+            }
+        }
+    }
+
+    /**
+     * @return The number of players with a bucket.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private int find(long most, long least) {
+        int mask = used.length - 1;
+
+        for (int index = home(most, least); used[index]; index = (index + 1) & mask) {
+            if (mostBits[index] == most && leastBits[index] == least) {
+                return (index);
+            }
+        }
+
+        return (-1);
+    }
+
+    private int insert(long most, long least) {
+        int mask = used.length - 1;
+        int index = home(most, least);
+
+        while (used[index]) {
+            index = (index + 1) & mask;
+        }
+
+        used[index] = true;
+        mostBits[index] = most;
+        leastBits[index] = least;
+        size++;
+        return (index);
+    }
+
+    /**
+     * Drop the full buckets, and double the table if it is still too crowded.
+     */
+    private void rehash(long now) {
+        long[] oldMostBits = mostBits;
+        long[] oldLeastBits = leastBits;
+        long[] oldFullAt = fullAt;
+        boolean[] oldUsed = used;
+        int live = 0;
+
+        for (int index = 0; index < oldUsed.length; index++) {
+            if (oldUsed[index] && oldFullAt[index] - now > 0) {
+                live++;
+            }
+        }
+
+        int capacity = oldUsed.length;
+        while ((live + 1) * 2 > capacity) {
+            capacity *= 2;
+        }
+
+        mostBits = new long[capacity];
+        leastBits = new long[capacity];
+        fullAt = new long[capacity];
+        used = new boolean[capacity];
+        size = 0;
+
+        for (int index = 0; index < oldUsed.length; index++) {
+            if (oldUsed[index] && oldFullAt[index] - now > 0) {
+                int slot = insert(oldMostBits[index], oldLeastBits[index]);
+                fullAt[slot] = oldFullAt[index];
+            }
+        }
+    }
+
+    private int home(long most, long least) {
+        long hash = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return ((int) (hash ^ (hash >>> 32)) & (used.length - 1));
+    }
+}
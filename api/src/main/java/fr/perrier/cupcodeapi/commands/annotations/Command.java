@@ -13,4 +13,9 @@ public @interface Command {
     String permission() default "";
 
     boolean async() default false;
+
+    /**
+     * Maximum number of concurrent executions of an async command, 0 to use the default of the async executor.
+     */
+    int maxConcurrency() default 0;
 }
@@ -0,0 +1,18 @@
+package fr.perrier.cupcodeapi.commands.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A named option typed anywhere after the command, as {@code -name}, {@code --name} or {@code --name=value}.
+ * A boolean flag is true when given, other flags take the value after {@code =}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Flag {
+    String name();
+
+    String baseValue() default ("");
+}
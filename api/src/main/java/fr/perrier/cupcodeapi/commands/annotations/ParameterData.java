@@ -0,0 +1,48 @@
+package fr.perrier.cupcodeapi.commands.annotations;
+
+import lombok.Getter;
+
+public class ParameterData {
+    @Getter
+    final String name;
+    @Getter
+    final boolean wildcard;
+    @Getter
+    final String defaultValue;
+    @Getter
+    final String[] tabCompleteFlags;
+    @Getter
+    final Class<?> parameterClass;
+    @Getter
+    final boolean flag;
+
+    public ParameterData(Param paramAnnotation, Class<?> parameterClass) {
+        this.name = paramAnnotation.name();
+        this.wildcard = paramAnnotation.wildcard();
+        this.defaultValue = paramAnnotation.baseValue();
+        this.tabCompleteFlags = paramAnnotation.tabCompleteFlags();
+        this.parameterClass = parameterClass;
+        this.flag = false;
+    }
+
+    /**
+     * Create a parameter without reflection, as done by the registries generated at build time.
+     */
+    public ParameterData(String name, boolean wildcard, String defaultValue, String[] tabCompleteFlags, Class<?> parameterClass, boolean flag) {
+        this.name = name;
+        this.wildcard = wildcard;
+        this.defaultValue = defaultValue;
+        this.tabCompleteFlags = tabCompleteFlags;
+        this.parameterClass = parameterClass;
+        this.flag = flag;
+    }
+
+    public ParameterData(Flag flagAnnotation, Class<?> parameterClass) {
+        this.name = flagAnnotation.name();
+        this.wildcard = false;
+        this.defaultValue = flagAnnotation.baseValue();
+        this.tabCompleteFlags = new String[]{""};
+        this.parameterClass = parameterClass;
+        this.flag = true;
+    }
+}
@@ -0,0 +1,56 @@
+package fr.perrier.cupcodeapi.commands.annotations;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+public interface ParameterType<T> {
+    T transform(CommandSender sender, String source);
+
+    List<String> tabComplete(Player sender, Set<String> flags, String source);
+
+    /**
+     * Tab complete a parameter without blocking the calling thread.
+     * <p>
+     * Types backed by slow lookups (database, web, offline players) should override this and complete the
+     * future from another thread. The command handler never waits for it: the completions are suggested once it
+     * completed, filtered as the player keeps typing. It is cancelled if the player types something else or after
+     * the tab complete timeout, so long running lookups may check {@link CompletableFuture#isCancelled()}.
+     * By default this completes immediately with {@link #tabComplete(Player, Set, String)}.
+     *
+     * @param sender The player completing the parameter.
+     * @param flags  The tab complete flags of the parameter.
+     * @param source The partially typed parameter.
+     * @return The future completions.
+     */
+    default CompletableFuture<List<String>> tabCompleteAsync(Player sender, Set<String> flags, String source) {
+        return CompletableFuture.completedFuture(tabComplete(sender, flags, source));
+    }
+
+    /**
+     * @return True if {@link #transformAsync(CommandSender, String)} should be used instead of
+     * {@link #transform(CommandSender, String)} when dispatching a command.
+     */
+    default boolean isTransformAsync() {
+        return false;
+    }
+
+    /**
+     * Transform a parameter without blocking the calling thread.
+     * <p>
+     * Only called when {@link #isTransformAsync()} is true. The command runs once every future of its
+     * parameters completed, back on the server thread unless the command is async. As with
+     * {@link #transform(CommandSender, String)}, completing with null aborts the command and the type is
+     * expected to have told the sender why.
+     *
+     * @param sender The sender of the command.
+     * @param source The typed parameter.
+     * @return The future transformed parameter.
+     */
+    default CompletableFuture<T> transformAsync(CommandSender sender, String source) {
+        return CompletableFuture.completedFuture(transform(sender, source));
+    }
+}
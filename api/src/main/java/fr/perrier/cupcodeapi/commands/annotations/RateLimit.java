@@ -0,0 +1,31 @@
+package fr.perrier.cupcodeapi.commands.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limit how often each player may run a command, excess calls are rejected before their parameters are parsed.
+ * For example {@code @RateLimit(permits = 2, per = 1)} allows two calls per second.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RateLimit {
+    int permits();
+
+    long per() default 1;
+
+    TimeUnit unit() default TimeUnit.SECONDS;
+
+    /**
+     * Calls allowed at once after a pause, 0 to use {@link #permits()}.
+     */
+    int burst() default 0;
+
+    /**
+     * Players with this permission are not limited, empty for none.
+     */
+    String bypassPermission() default "";
+}
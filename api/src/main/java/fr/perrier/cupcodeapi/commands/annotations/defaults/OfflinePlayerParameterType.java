@@ -1,5 +1,6 @@
 package fr.perrier.cupcodeapi.commands.annotations.defaults;
 
+import fr.perrier.cupcodeapi.commands.PlayerResolver;
 import fr.perrier.cupcodeapi.commands.annotations.*;
 import org.apache.commons.lang.StringUtils;
 import org.bukkit.Bukkit;
@@ -10,6 +11,7 @@ import org.bukkit.entity.Player;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public class OfflinePlayerParameterType implements ParameterType<OfflinePlayer> {
 
@@ -18,7 +20,20 @@ public class OfflinePlayerParameterType implements ParameterType<OfflinePlayer>
             return ((Player) sender);
         }
 
-        return (Bukkit.getServer().getOfflinePlayer(source));
+        return (PlayerResolver.getOfflinePlayer(source));
+    }
+
+    public boolean isTransformAsync() {
+        return (true);
+    }
+
+    public CompletableFuture<OfflinePlayer> transformAsync(CommandSender sender, String source) {
+        if (sender instanceof Player && (source.equalsIgnoreCase("self") || source.equals(""))) {
+            return (CompletableFuture.completedFuture((Player) sender));
+        }
+
+        // Unknown names may need a profile lookup, which must not hold the server thread.
+        return (PlayerResolver.getOfflinePlayerAsync(source));
     }
 
     public List<String> tabComplete(Player sender, Set<String> flags, String source) {
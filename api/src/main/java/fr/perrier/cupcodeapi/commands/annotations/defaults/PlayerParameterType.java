@@ -1,5 +1,6 @@
 package fr.perrier.cupcodeapi.commands.annotations.defaults;
 
+import fr.perrier.cupcodeapi.commands.PlayerResolver;
 import fr.perrier.cupcodeapi.commands.annotations.*;
 import fr.perrier.cupcodeapi.utils.*;
 import org.apache.commons.lang.StringUtils;
@@ -22,7 +23,7 @@ public class PlayerParameterType implements ParameterType<Player> {
             return (null);
         }
 
-        Player player = Bukkit.getPlayer(source);
+        Player player = PlayerResolver.getPlayer(source);
 
         if (player == null) {
             sender.sendMessage(ChatUtil.translate("&cCe joueur n'est pas connecté"));
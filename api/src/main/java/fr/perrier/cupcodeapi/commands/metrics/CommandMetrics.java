@@ -0,0 +1,125 @@
+package fr.perrier.cupcodeapi.commands.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution counters and latency histograms of one command.
+ * <p>
+ * Each dispatch is split in its phases: resolving the command from the typed line, transforming the
+ * parameters, and running the command method. Async commands also record how long they waited for a thread.
+ */
+public final class CommandMetrics {
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder asyncExecutions = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LatencyHistogram parse = new LatencyHistogram();
+    private final LatencyHistogram transform = new LatencyHistogram();
+    private final LatencyHistogram method = new LatencyHistogram();
+    private final LatencyHistogram queue = new LatencyHistogram();
+
+    public void recordParse(long nanos) {
+        parse.record(nanos);
+    }
+
+    public void recordTransform(long nanos) {
+        transform.record(nanos);
+    }
+
+    public void recordQueue(long nanos) {
+        asyncExecutions.increment();
+        queue.record(nanos);
+    }
+
+    /**
+     * Record a call rejected by the rate limit of the command.
+     */
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    /**
+     * Record a run of the command method.
+     *
+     * @param nanos  How long the method ran.
+     * @param failed Whether the method threw.
+     */
+    public void recordMethod(long nanos, boolean failed) {
+        executions.increment();
+        if (failed) {
+            failures.increment();
+        }
+        method.record(nanos);
+    }
+
+    /**
+     * @return How many times the command method ran.
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * @return How many times the command method threw.
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * @return How many calls the rate limit of the command rejected.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return How many executions went through the async executor.
+     */
+    public long getAsyncExecutions() {
+        return asyncExecutions.sum();
+    }
+
+    /**
+     * @return Time spent resolving the command from the typed line.
+     */
+    public LatencyHistogram getParse() {
+        return parse;
+    }
+
+    /**
+     * @return Time spent transforming the typed parameters.
+     */
+    public LatencyHistogram getTransform() {
+        return transform;
+    }
+
+    /**
+     * @return Time spent in the command method itself.
+     */
+    public LatencyHistogram getMethod() {
+        return method;
+    }
+
+    /**
+     * @return Time async executions waited before starting.
+     */
+    public LatencyHistogram getQueue() {
+        return queue;
+    }
+
+    /**
+     * Forget every recorded execution.
+     */
+    public void reset() {
+        executions.reset();
+        failures.reset();
+        asyncExecutions.reset();
+        rejected.reset();
+        parse.reset();
+        transform.reset();
+        method.reset();
+        queue.reset();
+    }
+}
@@ -0,0 +1,154 @@
+package fr.perrier.cupcodeapi.commands.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in nanoseconds, in the spirit of HdrHistogram.
+ * <p>
+ * Values are bucketed by their power of two, and each power of two is split into {@value #SUB_BUCKETS}
+ * linear sub-buckets, so any recorded value is reported with a relative error below 1/{@value #SUB_BUCKETS}
+ * whatever its magnitude, from nanoseconds to minutes. Recording is a few bit operations and an atomic
+ * increment, it never allocates.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values below SUB_BUCKETS are counted exactly, then one group of sub-buckets per power of two up to 2^63.
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a duration.
+     *
+     * @param nanos The duration in nanoseconds, negative values are counted as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        total.add(value);
+
+        long currentMax;
+        while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value)) {
+            // Retry, another thread raised the max meanwhile.
+        }
+    }
+
+    /**
+     * @return The number of recorded durations.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return The longest recorded duration in nanoseconds.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return The mean recorded duration in nanoseconds, 0 if nothing was recorded.
+     */
+    public long getMean() {
+        long recorded = count.sum();
+        return (recorded == 0 ? 0 : total.sum() / recorded);
+    }
+
+    /**
+     * Get the duration under which a given share of the recorded durations fall.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The duration in nanoseconds, rounded up to the bound of its sub-bucket and never above the max.
+     */
+    public long getPercentile(double percentile) {
+        long recorded = count.sum();
+
+        if (recorded == 0) {
+            return (0);
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(recorded * Math.min(100.0, percentile) / 100.0));
+        long seen = 0;
+
+        for (int index = 0; index < BUCKETS; index++) {
+            seen += counts.get(index);
+
+            if (seen >= rank) {
+                return (Math.min(upperBoundOf(index), getMax()));
+            }
+        }
+
+        return (getMax());
+    }
+
+    /**
+     * Forget every recorded duration.
+     */
+    public void reset() {
+        for (int index = 0; index < BUCKETS; index++) {
+            counts.set(index, 0);
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+
+    /**
+     * Format a duration for a human, with a unit matching its magnitude.
+     *
+     * @param nanos The duration in nanoseconds.
+     * @return The formatted duration, like {@code 850µs} or {@code 12.4ms}.
+     */
+    public static String format(long nanos) {
+        if (nanos < TimeUnit.MICROSECONDS.toNanos(1)) {
+            return (nanos + "ns");
+        }
+        if (nanos < TimeUnit.MILLISECONDS.toNanos(1)) {
+            return (nanos / 1_000 + "µs");
+        }
+        if (nanos < TimeUnit.SECONDS.toNanos(1)) {
+            return (String.format("%.1fms", nanos / 1_000_000.0));
+        }
+        return (String.format("%.2fs", nanos / 1_000_000_000.0));
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return ((int) value);
+        }
+
+        // Position of the highest bit, the SUB_BUCKET_BITS bits below it select the sub-bucket.
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+
+        return (SUB_BUCKETS + (shift * SUB_BUCKETS) + subBucket);
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return (index);
+        }
+
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        if (shift >= 63 - SUB_BUCKET_BITS) {
+            return (Long.MAX_VALUE);
+        }
+
+        long subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long lowerBound = (SUB_BUCKETS + subBucket) << shift;
+
+        return (lowerBound + (1L << shift) - 1);
+    }
+}
@@ -0,0 +1,89 @@
+package fr.perrier.cupcodeapi.commands.metrics;
+
+import fr.perrier.cupcodeapi.commands.CommandData;
+import fr.perrier.cupcodeapi.commands.CommandHandler;
+import fr.perrier.cupcodeapi.commands.annotations.Command;
+import fr.perrier.cupcodeapi.commands.annotations.Param;
+import fr.perrier.cupcodeapi.utils.ChatUtil;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin command printing the execution metrics of the registered commands.
+ * It is not registered by default, opt in with {@code commandHandler.registerCommands(MetricsCommand.class)}.
+ */
+public final class MetricsCommand {
+
+    private static final int SHOWN = 10;
+    // Synchronous commands slower than this at p99 are flagged as candidates for async = true.
+    private static final long SLOW_SYNC = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private MetricsCommand() {
+    }
+
+    @Command(names = {"cupcodemetrics", "cmetrics"}, permission = "cupcodeapi.metrics")
+    public static void metrics(CommandSender sender, @Param(name = "commande", wildcard = true, baseValue = "*") String name) {
+        List<CommandData> shown = new ArrayList<>();
+
+        for (CommandData commandData : CommandHandler.getCommands()) {
+            if (!shown.contains(commandData) && (name.equals("*") || matches(commandData, name))) {
+                shown.add(commandData);
+            }
+        }
+
+        shown.removeIf(commandData -> commandData.getMetrics().getExecutions() == 0 && commandData.getMetrics().getRejected() == 0);
+
+        if (shown.isEmpty()) {
+            sender.sendMessage(ChatUtil.translate("&cAucune exécution enregistrée."));
+            return;
+        }
+
+        shown.sort(Comparator.comparingLong((CommandData commandData) -> commandData.getMetrics().getMethod().getPercentile(99)).reversed());
+
+        sender.sendMessage(ChatUtil.translate("&7Commandes les plus lentes (méthode p50 / p99 / max) :"));
+        for (CommandData commandData : shown.subList(0, Math.min(SHOWN, shown.size()))) {
+            print(sender, commandData);
+        }
+    }
+
+    private static void print(CommandSender sender, CommandData commandData) {
+        CommandMetrics metrics = commandData.getMetrics();
+        LatencyHistogram method = metrics.getMethod();
+
+        StringBuilder line = new StringBuilder("&b/").append(commandData.getName())
+                .append(" &7x").append(metrics.getExecutions());
+        if (metrics.getFailures() > 0) {
+            line.append(" &c(").append(metrics.getFailures()).append(" erreurs)");
+        }
+        if (metrics.getRejected() > 0) {
+            line.append(" &6(").append(metrics.getRejected()).append(" refusées)");
+        }
+        line.append(" &f").append(LatencyHistogram.format(method.getPercentile(50)))
+                .append(" / ").append(LatencyHistogram.format(method.getPercentile(99)))
+                .append(" / ").append(LatencyHistogram.format(method.getMax()));
+        if (!commandData.isAsync() && method.getPercentile(99) > SLOW_SYNC) {
+            line.append(" &c[thread principal, passer en async ?]");
+        }
+        sender.sendMessage(ChatUtil.translate(line.toString()));
+
+        StringBuilder detail = new StringBuilder("&8  parse p99 ").append(LatencyHistogram.format(metrics.getParse().getPercentile(99)))
+                .append(", paramètres p99 ").append(LatencyHistogram.format(metrics.getTransform().getPercentile(99)));
+        if (metrics.getAsyncExecutions() > 0) {
+            detail.append(", attente async p99 ").append(LatencyHistogram.format(metrics.getQueue().getPercentile(99)));
+        }
+        sender.sendMessage(ChatUtil.translate(detail.toString()));
+    }
+
+    private static boolean matches(CommandData commandData, String name) {
+        for (String alias : commandData.getNames()) {
+            if (alias.equalsIgnoreCase(name) || alias.toLowerCase().startsWith(name.toLowerCase() + " ")) {
+                return (true);
+            }
+        }
+        return (false);
+    }
+}
@@ -0,0 +1,125 @@
+package fr.perrier.cupcodeapi.commands.trace;
+
+import java.util.Arrays;
+
+/**
+ * Diagnostics of the command system.
+ * <p>
+ * Tracing is disabled until a sink is installed with {@link #enable(TraceSink, TraceLevel)}. While disabled,
+ * every call is a single volatile read: messages are only formatted once they pass the level check, and the
+ * fixed-arity overloads avoid allocating a varargs array. Callers building costly arguments should guard
+ * them with {@link #isEnabled(TraceLevel)}.
+ *
+ * <pre>
+ * RingBufferTraceSink buffer = new RingBufferTraceSink(512);
+ * CommandTrace.enable(buffer, TraceLevel.DEBUG);
+ * ...
+ * buffer.dump().forEach(System.out::println);
+ * </pre>
+ */
+public final class CommandTrace {
+
+    private static volatile TraceSink sink;
+    private static volatile int threshold = -1;
+
+    private CommandTrace() {
+    }
+
+    /**
+     * Send every message up to the given level to a sink.
+     *
+     * @param traceSink The sink receiving the messages.
+     * @param level     The most verbose level recorded.
+     */
+    public static void enable(TraceSink traceSink, TraceLevel level) {
+        sink = traceSink;
+        threshold = level.ordinal();
+    }
+
+    /**
+     * Stop tracing.
+     */
+    public static void disable() {
+        threshold = -1;
+        sink = null;
+    }
+
+    /**
+     * @return The installed sink, or null if tracing is disabled.
+     */
+    public static TraceSink getSink() {
+        return sink;
+    }
+
+    /**
+     * @param level The level of a message.
+     * @return Whether a message of this level would be recorded.
+     */
+    public static boolean isEnabled(TraceLevel level) {
+        return level.ordinal() <= threshold;
+    }
+
+    /**
+     * Record a message if its level is enabled.
+     *
+     * @param level   The level of the message.
+     * @param message The message.
+     */
+    public static void trace(TraceLevel level, String message) {
+        if (isEnabled(level)) {
+            record(level, message);
+        }
+    }
+
+    /**
+     * Record a message if its level is enabled, formatting it only in that case.
+     *
+     * @param level    The level of the message.
+     * @param format   The message, each {} is replaced by the next argument.
+     * @param argument The argument.
+     */
+    public static void trace(TraceLevel level, String format, Object argument) {
+        if (isEnabled(level)) {
+            record(level, format(format, argument));
+        }
+    }
+
+    public static void trace(TraceLevel level, String format, Object first, Object second) {
+        if (isEnabled(level)) {
+            record(level, format(format, first, second));
+        }
+    }
+
+    public static void trace(TraceLevel level, String format, Object first, Object second, Object third) {
+        if (isEnabled(level)) {
+            record(level, format(format, first, second, third));
+        }
+    }
+
+    private static void record(TraceLevel level, String message) {
+        TraceSink current = sink;
+        if (current != null) {
+            current.trace(level, message);
+        }
+    }
+
+    /**
+     * Replace each {} of the format by the next argument, arrays are printed element by element.
+     */
+    static String format(String format, Object... arguments) {
+        StringBuilder builder = new StringBuilder(format.length() + 32);
+        int argumentIndex = 0;
+        int start = 0;
+        int placeholder;
+
+        while (argumentIndex < arguments.length && (placeholder = format.indexOf("{}", start)) != -1) {
+            builder.append(format, start, placeholder);
+
+            Object argument = arguments[argumentIndex++];
+            builder.append(argument instanceof Object[] array ? Arrays.toString(array) : String.valueOf(argument));
+            start = placeholder + 2;
+        }
+
+        return (builder.append(format, start, format.length()).toString());
+    }
+}
@@ -0,0 +1,90 @@
+package fr.perrier.cupcodeapi.commands.trace;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the last trace messages in memory so they can be dumped on demand.
+ * Writers never block each other, the oldest messages are overwritten once the buffer is full.
+ */
+public class RingBufferTraceSink implements TraceSink {
+
+    static final ThreadLocal<SimpleDateFormat> FORMAT = ThreadLocal.withInitial(() -> new SimpleDateFormat("HH:mm:ss.SSS"));
+
+    private final AtomicReferenceArray<Entry> entries;
+    private final AtomicLong cursor = new AtomicLong();
+
+    /**
+     * @param capacity The number of messages kept.
+     */
+    public RingBufferTraceSink(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.entries = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public void trace(TraceLevel level, String message) {
+        long sequence = cursor.getAndIncrement();
+        entries.set((int) (sequence % entries.length()), new Entry(sequence, System.currentTimeMillis(), level, Thread.currentThread().getName(), message));
+    }
+
+    /**
+     * Get the buffered messages, oldest first.
+     *
+     * @return One formatted line per message.
+     */
+    public List<String> dump() {
+        long end = cursor.get();
+        long start = Math.max(0, end - entries.length());
+        List<String> lines = new ArrayList<>((int) (end - start));
+
+        for (long sequence = start; sequence < end; sequence++) {
+            Entry entry = entries.get((int) (sequence % entries.length()));
+
+            // Skip slots not written yet or already overwritten by a newer message.
+            if (entry != null && entry.sequence == sequence) {
+                lines.add("[" + FORMAT.get().format(new Date(entry.time)) + " " + entry.level + " " + entry.thread + "] " + entry.message);
+            }
+        }
+
+        return (lines);
+    }
+
+    /**
+     * Drop every buffered message.
+     */
+    public void clear() {
+        for (int index = 0; index < entries.length(); index++) {
+            entries.set(index, null);
+        }
+    }
+
+    /**
+     * @return The number of messages kept.
+     */
+    public int getCapacity() {
+        return entries.length();
+    }
+
+    private static final class Entry {
+        private final long sequence;
+        private final long time;
+        private final TraceLevel level;
+        private final String thread;
+        private final String message;
+
+        private Entry(long sequence, long time, TraceLevel level, String thread, String message) {
+            this.sequence = sequence;
+            this.time = time;
+            this.level = level;
+            this.thread = thread;
+            this.message = message;
+        }
+    }
+}
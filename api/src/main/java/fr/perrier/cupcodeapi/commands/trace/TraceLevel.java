@@ -0,0 +1,12 @@
+package fr.perrier.cupcodeapi.commands.trace;
+
+/**
+ * Verbosity of a command trace message, from the most to the least important.
+ */
+public enum TraceLevel {
+    ERROR,
+    WARN,
+    INFO,
+    DEBUG,
+    TRACE
+}
@@ -0,0 +1,16 @@
+package fr.perrier.cupcodeapi.commands.trace;
+
+/**
+ * Receives the command trace messages that passed the level set in {@link CommandTrace}.
+ */
+@FunctionalInterface
+public interface TraceSink {
+
+    /**
+     * Record a formatted trace message.
+     *
+     * @param level   The level of the message.
+     * @param message The formatted message.
+     */
+    void trace(TraceLevel level, String message);
+}
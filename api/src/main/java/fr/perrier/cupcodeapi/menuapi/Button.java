@@ -5,20 +5,67 @@ import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 
 public abstract class Button {
+    private ButtonCache cache;
+
     public static Button placeholder(final Material material, final byte data, final String... title) {
         return new Button() {
             @Override
             public ItemStack getButtonItem(final Player player) {
-                final ItemStack it = new ItemStack(material, 1, data);
-                final ItemMeta meta = it.getItemMeta();
-                meta.setDisplayName(StringUtils.join(title));
-                it.setItemMeta(meta);
-                return it;
+                return ItemTemplates.item(material, data, StringUtils.join(title));
             }
-        };
+        }.cache(ButtonCache.forever());
+    }
+
+    /**
+     * Keep the item of this button between renders instead of calling {@link #getButtonItem(Player)} every time.
+     *
+     * @param cache How the item is kept, or null to build it on every render.
+     * @return This button.
+     */
+    public Button cache(final ButtonCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * Share a cache between the buttons of a class, but not with its subclasses, which may show another item.
+     * Call it from the constructor of that class.
+     *
+     * @param type  The class whose instances share the cache.
+     * @param cache The shared cache.
+     * @return This button.
+     */
+    protected Button cacheIfExactly(final Class<? extends Button> type, final ButtonCache cache) {
+        if (getClass() == type) {
+            this.cache = cache;
+        }
+        return this;
+    }
+
+    public ButtonCache getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Drop the cached item of this button, so the next render builds it again.
+     */
+    public void invalidate() {
+        if (this.cache != null) {
+            this.cache.invalidate();
+        }
+    }
+
+    /**
+     * Drop the item of this button cached for a player.
+     *
+     * @param player The player.
+     */
+    public void invalidate(final Player player) {
+        if (this.cache != null) {
+            this.cache.invalidate(player);
+        }
     }
 
     public static void playFail(final Player player) {
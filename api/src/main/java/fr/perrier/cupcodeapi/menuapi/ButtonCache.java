@@ -0,0 +1,143 @@
+package fr.perrier.cupcodeapi.menuapi;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the item built by a {@link Button}, so renders reuse it instead of building it again.
+ * <p>
+ * The item is kept either for every player or for each player, forever or for a limited time, and is dropped by
+ * {@link #invalidate()}. One cache can be shared by several buttons which always show the same item, like every
+ * {@link fr.perrier.cupcodeapi.menuapi.buttons.CloseButton}. Items kept per player are dropped when the player quits.
+ */
+public final class ButtonCache {
+    // Caches keeping items per player, weakly as they come and go with the buttons holding them.
+    private static final Set<ButtonCache> perPlayerCaches = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final boolean perPlayer;
+    private final long ttl;
+    private volatile Entry shared;
+    private final Map<UUID, Entry> players = new ConcurrentHashMap<>();
+    // When the expired items of every player were last dropped.
+    private volatile long prunedAt = System.nanoTime();
+
+    private ButtonCache(boolean perPlayer, long ttl) {
+        this.perPlayer = perPlayer;
+        this.ttl = ttl;
+        if (perPlayer)
+            perPlayerCaches.add(this);
+    }
+
+    /**
+     * @return A cache keeping the same item for every player until invalidated.
+     */
+    public static ButtonCache forever() {
+        return new ButtonCache(false, 0);
+    }
+
+    /**
+     * @return A cache keeping one item per player until invalidated.
+     */
+    public static ButtonCache perPlayer() {
+        return new ButtonCache(true, 0);
+    }
+
+    /**
+     * @param duration How long the item is kept.
+     * @param unit     The unit of the duration.
+     * @return A cache keeping the same item for every player for a limited time.
+     */
+    public static ButtonCache expireAfter(long duration, TimeUnit unit) {
+        return new ButtonCache(false, unit.toNanos(duration));
+    }
+
+    /**
+     * @param duration How long the item is kept.
+     * @param unit     The unit of the duration.
+     * @return A cache keeping one item per player for a limited time.
+     */
+    public static ButtonCache perPlayer(long duration, TimeUnit unit) {
+        return new ButtonCache(true, unit.toNanos(duration));
+    }
+
+    /**
+     * Get the cached item, building it if it is missing or expired.
+     */
+    ItemStack get(Player player, Supplier<ItemStack> builder) {
+        long now = System.nanoTime();
+        Entry entry = this.perPlayer ? this.players.get(player.getUniqueId()) : this.shared;
+        if (entry != null && !isExpired(entry, now)) {
+            return entry.item;
+        }
+
+        entry = new Entry(builder.get(), now);
+        if (this.perPlayer) {
+            this.players.put(player.getUniqueId(), entry);
+            // The players not viewing the button anymore never read their item again, it is dropped once expired.
+            if (this.ttl != 0 && now - this.prunedAt >= this.ttl) {
+                this.prunedAt = now;
+                this.players.values().removeIf(cached -> isExpired(cached, now));
+            }
+        } else {
+            this.shared = entry;
+        }
+        return entry.item;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return this.ttl != 0 && now - entry.builtAt >= this.ttl;
+    }
+
+    /**
+     * Drop every cached item, the next render builds them again.
+     */
+    public void invalidate() {
+        this.shared = null;
+        this.players.clear();
+    }
+
+    /**
+     * Drop the item cached for a player.
+     *
+     * @param player The player.
+     */
+    public void invalidate(Player player) {
+        if (this.perPlayer) {
+            this.players.remove(player.getUniqueId());
+        } else {
+            this.shared = null;
+        }
+    }
+
+    /**
+     * Drop the items cached for a player by every cache, when they quit.
+     *
+     * @param uuid The player's UUID.
+     */
+    static void invalidateAll(UUID uuid) {
+        synchronized (perPlayerCaches) {
+            for (ButtonCache cache : perPlayerCaches) {
+                cache.players.remove(uuid);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final ItemStack item;
+        private final long builtAt;
+
+        private Entry(ItemStack item, long builtAt) {
+            this.item = item;
+            this.builtAt = builtAt;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package fr.perrier.cupcodeapi.menuapi;
+
+import fr.perrier.cupcodeapi.CupCodeAPI;
+import fr.perrier.cupcodeapi.menuapi.pagination.PaginatedMenu;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ButtonListener implements Listener {
+    // Players whose inventory is checked for leaked menu items on the next tick.
+    private static final Set<UUID> pendingSweeps = ConcurrentHashMap.newKeySet();
+    private final Plugin plugin;
+    private final MenuClickMetrics metrics;
+
+    public ButtonListener(final Plugin plugin) {
+        this(plugin, new MenuClickMetrics());
+    }
+
+    public ButtonListener(final Plugin plugin, final MenuClickMetrics metrics) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+    }
+
+    public static void onInventoryClose(Player player) {
+        final MenuSession session = MenuSession.close(player);
+        if (session != null) {
+            final Menu openMenu = session.getMenu();
+            openMenu.setInventory(player.getOpenInventory().getTopInventory());
+            openMenu.onClose(player);
+            if (openMenu instanceof PaginatedMenu) {
+                return;
+            }
+        }
+        scheduleSweep(player);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onInventoryClose(final InventoryCloseEvent event) {
+        final Player player = (Player) event.getPlayer();
+        final MenuSession session = MenuSession.get(player);
+        // Opening a menu closes the previous inventory after the new session started, it must not end it.
+        if (session != null && event.getInventory().equals(session.getInventory())) {
+            MenuSession.close(player);
+            final Menu openMenu = session.getMenu();
+            openMenu.setInventory(event.getInventory());
+            openMenu.onClose(player);
+        }
+        scheduleSweep(player);
+    }
+
+    /**
+     * Remove the menu items left in the inventory of a player once, on the next tick.
+     * Closing several menus in the same tick only checks the inventory once.
+     */
+    private static void scheduleSweep(Player player) {
+        if (!pendingSweeps.add(player.getUniqueId()))
+            return;
+        Bukkit.getScheduler().runTaskLater(CupCodeAPI.getPlugin(), () -> {
+            pendingSweeps.remove(player.getUniqueId());
+            if (!player.isOnline())
+                return;
+            final PlayerInventory inventory = player.getInventory();
+            final ItemStack[] contents = inventory.getContents();
+            for (int slot = 0; slot < contents.length; slot++) {
+                if (Menu.isMenuItem(contents[slot]))
+                    inventory.clear(slot);
+            }
+        }, 1L);
+    }
+
+    @EventHandler
+    public void onButtonPress(final InventoryClickEvent event) {
+        final Player player = (Player) event.getWhoClicked();
+        final MenuSession session = MenuSession.get(player);
+        if (session == null) {
+            // A menu item the sweep missed, removed as soon as the player touches it.
+            if (Menu.isMenuItem(event.getCurrentItem())) {
+                event.setCancelled(true);
+                event.setCurrentItem(null);
+            }
+            return;
+        }
+        final Menu openMenu = session.getMenu();
+        if (event.getSlot() != event.getRawSlot()) {
+            if (event.getClick() == ClickType.SHIFT_LEFT || event.getClick() == ClickType.SHIFT_RIGHT) {
+                event.setCancelled(true);
+            }
+            return;
+        }
+        final Button button = openMenu.getButtonSlots().get(event.getSlot());
+        if (button != null) {
+            this.metrics.recordClick();
+            if (event.getSlot() == session.lastClickSlot && MenuUpdateTask.currentTick - session.lastClickTick < openMenu.getClickDebounce()) {
+                this.metrics.recordDropped();
+                // Only the action of the button is skipped, a click it lets through still goes through.
+                if (button.shouldCancel(player, event.getSlot(), event.getClick())) {
+                    event.setCancelled(true);
+                    requestInventoryUpdate(player, session);
+                }
+                return;
+            }
+            session.lastClickSlot = event.getSlot();
+            session.lastClickTick = MenuUpdateTask.currentTick;
+            final boolean cancel = button.shouldCancel(player, event.getSlot(), event.getClick());
+            if (!cancel && (event.getClick() == ClickType.SHIFT_LEFT || event.getClick() == ClickType.SHIFT_RIGHT)) {
+                event.setCancelled(true);
+                if (event.getCurrentItem() != null) {
+                    player.getInventory().addItem(event.getCurrentItem());
+                }
+            } else {
+                event.setCancelled(cancel);
+            }
+            button.clicked(player, event.getSlot(), event.getClick(), event.getHotbarButton());
+            final Menu newMenu = Menu.getOpenMenu(player);
+            if (newMenu != null) {
+                if (newMenu == openMenu) {
+                    final boolean buttonUpdate = button.shouldUpdate(player, event.getSlot(), event.getClick());
+                    // Rendered on the next tick, once whatever the number of clicks until then.
+                    if (buttonUpdate && !MenuSession.get(player).requestRender()) {
+                        this.metrics.recordCoalesced();
+                    }
+                }
+            } else if (button.shouldUpdate(player, event.getSlot(), event.getClick())) {
+                openMenu.setClosedByMenu(true);
+                openMenu.openMenu(player);
+            }
+            if (event.isCancelled()) {
+                requestInventoryUpdate(player, MenuSession.get(player));
+            }
+        }
+    }
+
+    /**
+     * A click going through on the menu changes it behind the render, like an item placed in an empty slot or moved
+     * in with a shift click, so the next refresh must write every slot again.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMenuChanged(final InventoryClickEvent event) {
+        final MenuSession session = MenuSession.get((Player) event.getWhoClicked());
+        if (session == null || !event.getInventory().equals(session.getInventory())) {
+            return;
+        }
+        if (event.getRawSlot() < session.getInventory().getSize() || event.getClick() == ClickType.SHIFT_LEFT
+                || event.getClick() == ClickType.SHIFT_RIGHT || event.getClick() == ClickType.DOUBLE_CLICK) {
+            session.invalidateRender();
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMenuChanged(final InventoryDragEvent event) {
+        final MenuSession session = MenuSession.get((Player) event.getWhoClicked());
+        if (session == null || !event.getInventory().equals(session.getInventory())) {
+            return;
+        }
+        for (final int slot : event.getRawSlots()) {
+            if (slot < session.getInventory().getSize()) {
+                session.invalidateRender();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Send the inventory to the player again on the next tick, once per tick.
+     */
+    private void requestInventoryUpdate(final Player player, final MenuSession session) {
+        if (session == null) {
+            Bukkit.getScheduler().runTaskLater(this.plugin, player::updateInventory, 1L);
+        } else if (!session.requestInventoryUpdate()) {
+            this.metrics.recordCoalesced();
+        }
+    }
+
+    @EventHandler
+    public void onPlayerQuit(final PlayerQuitEvent event) {
+        MenuSession.close(event.getPlayer());
+        ButtonCache.invalidateAll(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,232 @@
+package fr.perrier.cupcodeapi.menuapi;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The buttons of a menu, indexed by slot.
+ * <p>
+ * Looking up the button of a clicked slot is an array access, without boxing the slot or hashing it like a map.
+ * <pre>{@code
+ * return new ButtonSlots()
+ *         .set(new int[]{0, 8}, Glass.of(7))
+ *         .set(4, new CloseButton());
+ * }</pre>
+ */
+public final class ButtonSlots {
+    /**
+     * The number of slots of the largest inventory.
+     */
+    public static final int MAX_SLOTS = 54;
+
+    private final Button[] buttons = new Button[MAX_SLOTS];
+
+    /**
+     * Copy the buttons of a map, ignoring the slots outside of an inventory.
+     *
+     * @param buttons The buttons by slot, may be null.
+     * @return The slots.
+     */
+    public static ButtonSlots of(Map<Integer, Button> buttons) {
+        ButtonSlots slots = new ButtonSlots();
+        if (buttons != null)
+            slots.setAll(buttons);
+        return slots;
+    }
+
+    /**
+     * Put a button in a slot.
+     *
+     * @param slot   The slot, from 0 to 53.
+     * @param button The button, or null to empty the slot.
+     * @return This instance.
+     */
+    public ButtonSlots set(int slot, Button button) {
+        if (slot < 0 || slot >= MAX_SLOTS)
+            throw new IllegalArgumentException("Slot " + slot + " is outside of an inventory");
+        this.buttons[slot] = button;
+        return this;
+    }
+
+    /**
+     * Put the same button in several slots.
+     *
+     * @return This instance.
+     */
+    public ButtonSlots set(int[] slots, Button button) {
+        for (int slot : slots) {
+            set(slot, button);
+        }
+        return this;
+    }
+
+    /**
+     * Copy the buttons of a map, ignoring the slots outside of an inventory.
+     *
+     * @return This instance.
+     */
+    public ButtonSlots setAll(Map<Integer, Button> buttons) {
+        for (Map.Entry<Integer, Button> entry : buttons.entrySet()) {
+            int slot = entry.getKey();
+            if (slot >= 0 && slot < MAX_SLOTS)
+                this.buttons[slot] = entry.getValue();
+        }
+        return this;
+    }
+
+    /**
+     * Put a button in every empty slot before a size.
+     *
+     * @return This instance.
+     */
+    public ButtonSlots fill(int size, Button button) {
+        for (int slot = 0; slot < Math.min(size, MAX_SLOTS); slot++) {
+            if (this.buttons[slot] == null)
+                this.buttons[slot] = button;
+        }
+        return this;
+    }
+
+    /**
+     * @return The button in a slot, or null if it is empty or outside of an inventory.
+     */
+    public Button get(int slot) {
+        if (slot < 0 || slot >= MAX_SLOTS)
+            return null;
+        return this.buttons[slot];
+    }
+
+    /**
+     * @return The number of slots needed to show every button, a multiple of 9.
+     */
+    public int size() {
+        int highest = MAX_SLOTS - 1;
+        while (highest > 0 && this.buttons[highest] == null) {
+            highest--;
+        }
+        return (highest / 9 + 1) * 9;
+    }
+
+    /**
+     * @return A copy of the buttons by slot.
+     */
+    public Map<Integer, Button> toMap() {
+        Map<Integer, Button> map = new HashMap<>();
+        for (int slot = 0; slot < MAX_SLOTS; slot++) {
+            if (this.buttons[slot] != null)
+                map.put(slot, this.buttons[slot]);
+        }
+        return map;
+    }
+
+    /**
+     * Get a map backed by these slots, changes to either are seen by the other.
+     * Buttons put outside of an inventory are ignored, like {@link #setAll(Map)} does.
+     *
+     * @return The buttons by slot.
+     */
+    public Map<Integer, Button> asMap() {
+        return new SlotMap();
+    }
+
+    private final class SlotMap extends AbstractMap<Integer, Button> {
+
+        @Override
+        public Button get(Object key) {
+            return key instanceof Integer ? ButtonSlots.this.get((Integer) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Button put(Integer slot, Button button) {
+            Button previous = ButtonSlots.this.get(slot);
+            if (slot >= 0 && slot < MAX_SLOTS)
+                buttons[slot] = button;
+            return previous;
+        }
+
+        @Override
+        public Button remove(Object key) {
+            Button previous = get(key);
+            if (previous != null)
+                buttons[(Integer) key] = null;
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(buttons, null);
+        }
+
+        @Override
+        public Set<Entry<Integer, Button>> entrySet() {
+            return new AbstractSet<Entry<Integer, Button>>() {
+                @Override
+                public int size() {
+                    int size = 0;
+                    for (Button button : buttons) {
+                        if (button != null)
+                            size++;
+                    }
+                    return size;
+                }
+
+                @Override
+                public Iterator<Entry<Integer, Button>> iterator() {
+                    return new SlotIterator();
+                }
+            };
+        }
+    }
+
+    private final class SlotIterator implements Iterator<Map.Entry<Integer, Button>> {
+        private int next = advance(0);
+        private int last = -1;
+
+        private int advance(int slot) {
+            while (slot < MAX_SLOTS && buttons[slot] == null) {
+                slot++;
+            }
+            return slot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next < MAX_SLOTS;
+        }
+
+        @Override
+        public Map.Entry<Integer, Button> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            final int slot = this.next;
+            this.last = slot;
+            this.next = advance(slot + 1);
+            return new AbstractMap.SimpleEntry<Integer, Button>(slot, buttons[slot]) {
+                @Override
+                public Button setValue(Button value) {
+                    buttons[slot] = value;
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0)
+                throw new IllegalStateException();
+            buttons[this.last] = null;
+            this.last = -1;
+        }
+    }
+}
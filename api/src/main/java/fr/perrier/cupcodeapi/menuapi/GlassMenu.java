@@ -3,20 +3,26 @@ package fr.perrier.cupcodeapi.menuapi;
 import fr.perrier.cupcodeapi.menuapi.buttons.*;
 import org.bukkit.entity.Player;
 
-import java.util.HashMap;
 import java.util.Map;
 
 public abstract class GlassMenu extends Menu {
 
     @Override
     public Map<Integer, Button> getButtons(Player paramPlayer) {
+        return getButtonSlots(paramPlayer).toMap();
+    }
+
+    @Override
+    public ButtonSlots getButtonSlots(Player paramPlayer) {
 
-        final HashMap<Integer, Button> buttons = new HashMap<>(getAllButtons(paramPlayer));
+        final ButtonSlots buttons = ButtonSlots.of(getAllButtons(paramPlayer));
 
-        int size = size(buttons);
+        int size = buttons.size();
+        final Glass glass = Glass.of(getGlassColor());
 
         for (int i : new int[]{0, 1, 7, 8, 9, 17, size - 18, size - 10, size - 9, size - 8, size - 2, size - 1}) {
-            buttons.put(i, new Glass(getGlassColor()));
+            if (i >= 0)
+                buttons.set(i, glass);
         }
 
         return buttons;
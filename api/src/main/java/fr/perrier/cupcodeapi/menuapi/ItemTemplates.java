@@ -0,0 +1,112 @@
+package fr.perrier.cupcodeapi.menuapi;
+
+import com.cryptomorin.xseries.XMaterial;
+import fr.perrier.cupcodeapi.utils.Heads;
+import fr.perrier.cupcodeapi.utils.ItemBuilder;
+import org.bukkit.Material;
+import org.bukkit.SkullType;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prebuilt items shared by the decorative buttons of every menu.
+ * <p>
+ * Each item is built once, textured heads included, and every call returns a clone of it, which copies the meta
+ * instead of building it again.
+ */
+public final class ItemTemplates {
+    // Items with names built per player would otherwise fill the pool forever.
+    private static final int MAX_TEMPLATES = 512;
+    private static final Map<Template, ItemStack> templates = new ConcurrentHashMap<>();
+
+    private ItemTemplates() {
+    }
+
+    /**
+     * @param material The material of the item.
+     * @param data     The data value of the item.
+     * @param name     The name of the item, or null to keep the default one.
+     * @param lore     The lines of the lore.
+     * @return A copy of the item.
+     */
+    public static ItemStack item(Material material, int data, String name, String... lore) {
+        return get(new Template(material, data, name, Arrays.asList(lore), null));
+    }
+
+    /**
+     * @param texture The base64 texture of the head.
+     * @param name    The name of the item, or null to keep the default one.
+     * @param lore    The lines of the lore.
+     * @return A copy of the head.
+     */
+    public static ItemStack head(String texture, String name, String... lore) {
+        return get(new Template(XMaterial.PLAYER_HEAD.parseMaterial(), SkullType.PLAYER.ordinal(), name, Arrays.asList(lore), texture));
+    }
+
+    public static ItemStack head(Heads head, String name, String... lore) {
+        return head(head.getBase(), name, lore);
+    }
+
+    /**
+     * Forget every item, for example after a resource pack changed what they should look like.
+     */
+    public static void clear() {
+        templates.clear();
+    }
+
+    private static ItemStack get(Template template) {
+        ItemStack item = templates.get(template);
+        if (item == null) {
+            item = template.build();
+            if (templates.size() < MAX_TEMPLATES)
+                templates.putIfAbsent(template, item);
+        }
+        return item.clone();
+    }
+
+    private static final class Template {
+        private final Material material;
+        private final int data;
+        private final String name;
+        private final List<String> lore;
+        private final String texture;
+
+        private Template(Material material, int data, String name, List<String> lore, String texture) {
+            this.material = material;
+            this.data = data;
+            this.name = name;
+            this.lore = lore;
+            this.texture = texture;
+        }
+
+        private ItemStack build() {
+            ItemBuilder builder = new ItemBuilder(this.material, 1, (byte) this.data);
+            if (this.texture != null)
+                builder.setTexture(this.texture);
+            if (this.name != null)
+                builder.setName(this.name);
+            if (!this.lore.isEmpty())
+                builder.setLore(this.lore);
+            return builder.toItemStack();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Template))
+                return false;
+            Template other = (Template) o;
+            return this.material == other.material && this.data == other.data && Objects.equals(this.name, other.name)
+                    && this.lore.equals(other.lore) && Objects.equals(this.texture, other.texture);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.material, this.data, this.name, this.lore, this.texture);
+        }
+    }
+}
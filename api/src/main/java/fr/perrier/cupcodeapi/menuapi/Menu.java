@@ -0,0 +1,415 @@
+package fr.perrier.cupcodeapi.menuapi;
+
+import com.cryptomorin.xseries.XMaterial;
+import fr.perrier.cupcodeapi.CupCodeAPI;
+import fr.perrier.cupcodeapi.utils.ChatUtil;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.CraftingInventory;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+public abstract class Menu {
+    /**
+     * @deprecated Read-only, replaced by {@link #getOpenMenu(Player)} and {@link MenuSession#getSessions()}.
+     */
+    @Deprecated
+    public static final Map<String, Menu> currentlyOpenedMenus = MenuSession.getMenusByName();
+    @Getter
+    private ButtonSlots buttonSlots = new ButtonSlots();
+    @Getter
+    private boolean autoUpdate = false;
+    @Getter
+    private int updateInterval = 20;
+    @Getter
+    private boolean updateAfterClick = true;
+    @Getter
+    private int clickDebounce = 0;
+    @Getter
+    private boolean closedByMenu = false;
+    @Getter
+    private boolean placeholder = false;
+    @Getter
+    private Button placeholderButton = Button.placeholder(XMaterial.WHITE_STAINED_GLASS_PANE.parseMaterial(), (byte) 15, " ");
+    @Getter
+    private Inventory inventory;
+    @Getter
+    private boolean async = false;
+    // Size of the last render, the best guess for the placeholder of an async menu without a fixed size.
+    private int lastSize;
+    private static Executor asyncExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cupcode-menu-", 0).factory());
+    // Tag of every item rendered in a menu, to find the ones leaking into player inventories, set by the MenuAPI.
+    static volatile NamespacedKey menuItemKey;
+
+    /**
+     * @return The buttons shown by slot, backed by {@link #getButtonSlots()}.
+     */
+    public Map<Integer, Button> getButtons() {
+        return this.buttonSlots.asMap();
+    }
+
+    public void setButtons(Map<Integer, Button> buttons) {
+        this.buttonSlots = ButtonSlots.of(buttons);
+    }
+
+    public void setButtonSlots(ButtonSlots buttonSlots) {
+        this.buttonSlots = buttonSlots;
+    }
+
+    public void setAutoUpdate(boolean autoUpdate) {
+        this.autoUpdate = autoUpdate;
+    }
+
+    /**
+     * Change how often this menu is refreshed when it auto updates.
+     *
+     * @param updateInterval The interval, in ticks.
+     */
+    public void setUpdateInterval(int updateInterval) {
+        this.updateInterval = updateInterval;
+    }
+
+    /**
+     * Build the buttons and their items off the main thread, for menus whose buttons query a database or compute
+     * statistics. {@link #getTitle(Player)} is still called on the main thread.
+     *
+     * @param async True to render this menu asynchronously.
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * Change the executor rendering async menus, virtual threads by default.
+     *
+     * @param executor The executor.
+     */
+    public static void setAsyncExecutor(Executor executor) {
+        asyncExecutor = executor;
+    }
+
+    public void setUpdateAfterClick(boolean updateAfterClick) {
+        this.updateAfterClick = updateAfterClick;
+    }
+
+    /**
+     * Ignore the clicks on a slot clicked again too quickly, like the ones of an auto clicker. Off by default.
+     *
+     * @param clickDebounce The minimum interval between two clicks on the same slot, in ticks, or 0 to handle every click.
+     */
+    public void setClickDebounce(int clickDebounce) {
+        this.clickDebounce = clickDebounce;
+    }
+
+    public void setClosedByMenu(boolean closedByMenu) {
+        this.closedByMenu = closedByMenu;
+    }
+
+    public void setPlaceholder(boolean placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    public void setPlaceholderButton(Button placeholderButton) {
+        this.placeholderButton = placeholderButton;
+    }
+
+    public void setInventory(Inventory inventory) {
+        this.inventory = inventory;
+    }
+
+    /**
+     * @return The menu open by each player, by player name, as a read-only live view.
+     * @deprecated Replaced by {@link #getOpenMenu(Player)} and {@link MenuSession#getSessions()}.
+     */
+    @Deprecated
+    public static Map<String, Menu> getCurrentlyOpenedMenus() {
+        return currentlyOpenedMenus;
+    }
+
+    /**
+     * Get the menu a player currently has open.
+     *
+     * @param player The player.
+     * @return The menu, or null if they have none open.
+     */
+    public static Menu getOpenMenu(Player player) {
+        MenuSession session = MenuSession.get(player);
+        return session == null ? null : session.getMenu();
+    }
+
+    /**
+     * Forget what was last rendered for every player viewing this menu, so the next refresh writes every slot again.
+     * Needed when something else than the menu changed the inventory, like a player taking an item.
+     */
+    public void invalidateRender() {
+        for (MenuSession session : MenuSession.getSessions()) {
+            if (session.getMenu() == this)
+                session.invalidateRender();
+        }
+    }
+
+    private ItemStack createItemStack(Player player, Button button) {
+        if (button.getCache() != null)
+            return button.getCache().get(player, () -> buildItemStack(player, button));
+        return buildItemStack(player, button);
+    }
+
+    private ItemStack getPlaceholderItem(Player player) {
+        if (this.placeholderButton.getCache() != null)
+            return this.placeholderButton.getCache().get(player, () -> this.placeholderButton.getButtonItem(player));
+        return this.placeholderButton.getButtonItem(player);
+    }
+
+    private ItemStack buildItemStack(Player player, Button button) {
+        ItemStack item = button.getButtonItem(player);
+        ItemMeta meta = item.getItemMeta();
+        NamespacedKey key = menuItemKey;
+        if (meta != null && key != null) {
+            meta.getPersistentDataContainer().set(key, PersistentDataType.BYTE, (byte) 1);
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+
+    /**
+     * Check if an item was rendered by a menu, like one a player managed to take out of it.
+     *
+     * @param item The item, may be null.
+     * @return True if the item comes from a menu.
+     */
+    public static boolean isMenuItem(ItemStack item) {
+        NamespacedKey key = menuItemKey;
+        if (key == null || item == null || !item.hasItemMeta())
+            return false;
+        return item.getItemMeta().getPersistentDataContainer().has(key, PersistentDataType.BYTE);
+    }
+
+    public void fill(Map buttons, final ItemStack itemStack) {
+        IntStream.range(0, getSize()).filter(slot -> (buttons.get(slot) == null))
+
+                .forEach(slot -> buttons.put(slot, new Button() {
+                    public ItemStack getButtonItem(Player player) {
+                        return itemStack;
+                    }
+                }));
+    }
+
+    public void openMenu(Player player) {
+        if (isAsync()) {
+            openMenuAsync(player);
+            return;
+        }
+        ButtonSlots buttons = getButtonSlots(player);
+        int size = (getSize() == -1) ? buttons.size() : getSize();
+        show(player, buttons, render(player, buttons, size));
+    }
+
+    /**
+     * Build the buttons and their items on the async executor, then show them on the main thread.
+     * <p>
+     * A menu not shown yet is shown filled with the placeholder button while it loads. The result is discarded if the
+     * player closed the menu or switched to another one in the meantime, and refreshes requested while a render is
+     * running for the same player are merged into a single one started once it finishes.
+     */
+    private void openMenuAsync(Player player) {
+        MenuSession session = MenuSession.get(player);
+        if (session != null && session.getMenu() == this && session.rendering) {
+            session.renderQueued = true;
+            return;
+        }
+        if (session == null || session.getMenu() != this) {
+            int size = (getSize() != -1) ? getSize() : (this.lastSize > 0 ? this.lastSize : 27);
+            ButtonSlots loading = new ButtonSlots().fill(size, this.placeholderButton);
+            ItemStack[] render = new ItemStack[size];
+            for (int index = 0; index < size; index++) {
+                render[index] = getPlaceholderItem(player);
+            }
+            show(player, loading, render);
+            session = MenuSession.get(player);
+        }
+        MenuSession rendered = session;
+        rendered.rendering = true;
+        CompletableFuture.supplyAsync(() -> {
+            ButtonSlots buttons = getButtonSlots(player);
+            int size = (getSize() == -1) ? buttons.size() : getSize();
+            return new Render(buttons, render(player, buttons, size));
+        }, asyncExecutor).whenComplete((render, throwable) -> Bukkit.getScheduler().runTask(CupCodeAPI.getPlugin(), () -> {
+            rendered.rendering = false;
+            // Reopening this menu while it renders starts a new session, this render then belongs to a closed one.
+            boolean stillOpen = player.isOnline() && MenuSession.get(player) == rendered;
+            if (throwable != null) {
+                CupCodeAPI.getPlugin().getLogger().severe("Failed to render menu " + getClass().getName() + " for " + player.getName());
+                throwable.printStackTrace();
+            } else if (stillOpen) {
+                show(player, render.buttons, render.items);
+            }
+            if (rendered.renderQueued) {
+                rendered.renderQueued = false;
+                if (stillOpen)
+                    openMenuAsync(player);
+            }
+        }));
+    }
+
+    /**
+     * Show a render to the player, reusing the open inventory when it has the same size and title.
+     */
+    private void show(Player player, ButtonSlots buttons, ItemStack[] render) {
+        this.buttonSlots = buttons;
+        MenuSession session = MenuSession.get(player);
+        Menu previousMenu = session == null ? null : session.getMenu();
+        this.inventory = null;
+        int size = render.length;
+        this.lastSize = size;
+        boolean update = false;
+        String title = getTitle(player);
+        if (title.length() > 32)
+            title = title.substring(0, 32);
+        if (player.getOpenInventory() != null)
+            if (previousMenu == null) {
+                ButtonListener.onInventoryClose(player);
+            } else {
+                int previousSize = player.getOpenInventory().getTopInventory().getSize();
+                if (previousSize == size && player.getOpenInventory().getTitle().equalsIgnoreCase(title)) {
+                    this.inventory = player.getOpenInventory().getTopInventory();
+                    update = true;
+                } else if (previousMenu != this) {
+                    previousMenu.setClosedByMenu(true);
+                    ButtonListener.onInventoryClose(player);
+//                    player.closeInventory();
+                }
+            }
+        if (this.inventory == null)
+            this.inventory = Bukkit.createInventory(player, size, ChatUtil.translate(title));
+        // A reused inventory still shows what the previous menu rendered in it.
+        ItemStack[] previousRender = update ? session.getRender() : null;
+        // This menu changing size or title, like an async menu replacing its placeholder, keeps its session and is
+        // only reopened in a new inventory, without being closed.
+        if (previousMenu != this)
+            session = MenuSession.open(player, this, this.inventory);
+        // Every slot written is sent to the viewer on its own, a reused inventory needs no full update.
+        applyRender(render, previousRender);
+        session.update(this.inventory, render);
+        if (!update) {
+            if (this.inventory instanceof CraftingInventory) return;
+            player.openInventory(this.inventory);
+        }
+        onOpen(player);
+        setClosedByMenu(false);
+    }
+
+    /**
+     * Build the item of every slot of the menu.
+     */
+    private ItemStack[] render(Player player, ButtonSlots buttons, int size) {
+        ItemStack[] render = new ItemStack[size];
+        for (int slot = 0; slot < size; slot++) {
+            Button button = buttons.get(slot);
+            if (button == null) {
+                if (isPlaceholder()) {
+                    buttons.set(slot, this.placeholderButton);
+                    render[slot] = getPlaceholderItem(player);
+                }
+                continue;
+            }
+            try {
+                render[slot] = createItemStack(player, button);
+            } catch (Exception ignored) {
+            }
+        }
+        return render;
+    }
+
+    /**
+     * Write a render to the inventory, only touching the slots that differ from the previous render.
+     *
+     * @param render         The items of every slot.
+     * @param previousRender What the inventory currently shows, or null if unknown.
+     */
+    private void applyRender(ItemStack[] render, ItemStack[] previousRender) {
+        if (previousRender == null || previousRender.length != render.length) {
+            this.inventory.setContents(render);
+            return;
+        }
+        for (int slot = 0; slot < render.length; slot++) {
+            if (!Objects.equals(render[slot], previousRender[slot]))
+                this.inventory.setItem(slot, render[slot]);
+        }
+    }
+
+    /**
+     * Buttons built off the main thread, with the items of every slot.
+     */
+    private static final class Render {
+        private final ButtonSlots buttons;
+        private final ItemStack[] items;
+
+        private Render(ButtonSlots buttons, ItemStack[] items) {
+            this.buttons = buttons;
+            this.items = items;
+        }
+    }
+
+    public static int size(Map<Integer, Button> buttons) {
+        int highest = 0;
+        for (Iterator<Integer> iterator = buttons.keySet().iterator(); iterator.hasNext(); ) {
+            int buttonValue = iterator.next();
+            if (buttonValue > highest)
+                highest = buttonValue;
+        }
+        return (int) (Math.ceil((highest + 1) / 9.0D) * 9.0D);
+    }
+
+    public int getSlot(int x, int y) {
+        return 9 * y + x;
+    }
+
+    public int getSize() {
+        return -1;
+    }
+
+    public void onOpen(Player player) {
+    }
+
+    public void onClose(Player player) {
+    }
+
+    protected void surroundButtons(boolean full, Map buttons, final ItemStack itemStack) {
+        IntStream.range(0, getSize()).filter(slot -> (buttons.get(slot) == null)).forEach(slot -> {
+            if (slot < 9 || slot > getSize() - 10 || (full && (slot % 9 == 0 || (slot + 1) % 9 == 0)))
+                buttons.put(slot, new Button() {
+                    public ItemStack getButtonItem(Player player) {
+                        return itemStack;
+                    }
+                });
+        });
+    }
+
+    /**
+     * Get the buttons to show, by slot. Built from {@link #getButtons(Player)} by default, override it to fill the
+     * slots directly.
+     *
+     * @param player The player viewing the menu.
+     * @return The buttons.
+     */
+    public ButtonSlots getButtonSlots(Player player) {
+        return ButtonSlots.of(getButtons(player));
+    }
+
+    public abstract String getTitle(Player paramPlayer);
+
+    public abstract Map<Integer, Button> getButtons(Player paramPlayer);
+}
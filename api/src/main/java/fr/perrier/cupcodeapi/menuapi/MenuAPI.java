@@ -0,0 +1,18 @@
+package fr.perrier.cupcodeapi.menuapi;
+
+import lombok.Getter;
+import org.bukkit.NamespacedKey;
+import org.bukkit.plugin.java.JavaPlugin;
+
+public final class MenuAPI {
+    @Getter
+    private final MenuUpdateTask updateTask;
+    @Getter
+    private final MenuClickMetrics clickMetrics = new MenuClickMetrics();
+
+    public MenuAPI(JavaPlugin plugin) {
+        Menu.menuItemKey = new NamespacedKey(plugin, "menu_item");
+        plugin.getServer().getPluginManager().registerEvents(new ButtonListener(plugin, this.clickMetrics), plugin);
+        this.updateTask = new MenuUpdateTask(plugin);
+    }
+}
@@ -0,0 +1,52 @@
+package fr.perrier.cupcodeapi.menuapi;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the clicks handled by the menus.
+ */
+public final class MenuClickMetrics {
+
+    private final LongAdder clicks = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    void recordClick() {
+        clicks.increment();
+    }
+
+    /**
+     * Record a click ignored because the same slot was clicked too recently.
+     */
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Record a refresh merged into one already planned for the same tick.
+     */
+    void recordCoalesced() {
+        coalesced.increment();
+    }
+
+    /**
+     * @return How many clicks on a button were received.
+     */
+    public long getClicks() {
+        return clicks.sum();
+    }
+
+    /**
+     * @return How many clicks were ignored by the debounce of their menu.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return How many re-renders and inventory updates were merged into another one.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+}
@@ -0,0 +1,192 @@
+package fr.perrier.cupcodeapi.menuapi;
+
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The menu a player currently has open.
+ * <p>
+ * Sessions are keyed by player UUID and opened, refreshed and closed on the main thread. The registry can still be
+ * read from any thread.
+ */
+public final class MenuSession {
+    private static final Map<UUID, MenuSession> sessions = new ConcurrentHashMap<>();
+    // Sessions with a re-render or an inventory update planned for the next tick.
+    private static final ArrayDeque<MenuSession> pending = new ArrayDeque<>();
+
+    @Getter
+    private final Player player;
+    @Getter
+    private final Menu menu;
+    @Getter
+    private Inventory inventory;
+    // Items last written to the inventory, so a refresh only writes the slots that changed.
+    private ItemStack[] render;
+    @Getter
+    private final long openTick;
+    // Tick of the MenuUpdateTask this session was last rendered on.
+    long lastUpdateTick;
+    // Last slot clicked and when, to debounce clicks.
+    int lastClickSlot = -1;
+    long lastClickTick;
+    // Whether an async render of the menu is running, and whether another one was requested meanwhile.
+    boolean rendering;
+    boolean renderQueued;
+    private boolean renderRequested;
+    private boolean inventoryUpdateRequested;
+
+    private MenuSession(Player player, Menu menu, Inventory inventory) {
+        this.player = player;
+        this.menu = menu;
+        this.inventory = inventory;
+        this.openTick = MenuUpdateTask.currentTick;
+    }
+
+    /**
+     * @return The session of the player, or null if they have no menu open.
+     */
+    public static MenuSession get(Player player) {
+        return sessions.get(player.getUniqueId());
+    }
+
+    public static MenuSession get(UUID uuid) {
+        return sessions.get(uuid);
+    }
+
+    /**
+     * @return Every open session, as a live view.
+     */
+    public static Collection<MenuSession> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    /**
+     * @return The menu open by each player, by player name, as a read-only live view.
+     */
+    static Map<String, Menu> getMenusByName() {
+        return new AbstractMap<>() {
+            @Override
+            public Set<Entry<String, Menu>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<String, Menu>> iterator() {
+                        return sessions.values().stream()
+                                .<Entry<String, Menu>>map(session -> new SimpleImmutableEntry<>(session.player.getName(), session.menu))
+                                .iterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return sessions.size();
+                    }
+                };
+            }
+        };
+    }
+
+    static UUID[] getPlayers() {
+        return sessions.keySet().toArray(new UUID[0]);
+    }
+
+    /**
+     * Start a session for a menu shown in a new inventory, replacing the previous one of the player.
+     */
+    static MenuSession open(Player player, Menu menu, Inventory inventory) {
+        MenuSession session = new MenuSession(player, menu, inventory);
+        sessions.put(player.getUniqueId(), session);
+        return session;
+    }
+
+    /**
+     * End the session of the player.
+     *
+     * @return The session ended, or null if they had no menu open.
+     */
+    static MenuSession close(Player player) {
+        return sessions.remove(player.getUniqueId());
+    }
+
+    /**
+     * @return The items last written to the inventory, or null if unknown.
+     */
+    public ItemStack[] getRender() {
+        return this.render;
+    }
+
+    void update(Inventory inventory, ItemStack[] render) {
+        this.inventory = inventory;
+        this.render = render;
+        this.lastUpdateTick = MenuUpdateTask.currentTick;
+    }
+
+    /**
+     * Plan a re-render of the menu for the next tick.
+     *
+     * @return False if one was already planned.
+     */
+    boolean requestRender() {
+        if (this.renderRequested)
+            return false;
+        if (!this.inventoryUpdateRequested)
+            pending.add(this);
+        this.renderRequested = true;
+        return true;
+    }
+
+    /**
+     * Plan to send the inventory to the player again on the next tick.
+     *
+     * @return False if it was already planned.
+     */
+    boolean requestInventoryUpdate() {
+        if (this.inventoryUpdateRequested)
+            return false;
+        if (!this.renderRequested)
+            pending.add(this);
+        this.inventoryUpdateRequested = true;
+        return true;
+    }
+
+    /**
+     * Run the re-renders and inventory updates requested since the previous tick, once per player.
+     * A re-render is skipped if the player opened another menu in the meantime.
+     */
+    static void flushRequests() {
+        MenuSession session;
+        while ((session = pending.poll()) != null) {
+            boolean render = session.renderRequested;
+            boolean inventoryUpdate = session.inventoryUpdateRequested;
+            session.renderRequested = false;
+            session.inventoryUpdateRequested = false;
+            if (!session.player.isOnline())
+                continue;
+            if (render && sessions.get(session.player.getUniqueId()) == session) {
+                session.menu.setClosedByMenu(true);
+                session.menu.openMenu(session.player);
+            }
+            // A render only sends the slots it changed, the cursor and the slot of a cancelled click need a full update.
+            if (inventoryUpdate)
+                session.player.updateInventory();
+        }
+    }
+
+    /**
+     * Forget what was last rendered, so the next refresh writes every slot again.
+     */
+    public void invalidateRender() {
+        this.render = null;
+    }
+}
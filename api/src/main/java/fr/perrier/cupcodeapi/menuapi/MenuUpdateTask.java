@@ -0,0 +1,86 @@
+package fr.perrier.cupcodeapi.menuapi;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refreshes the auto updating menus on the main thread.
+ * <p>
+ * Each tick, open menus are visited round-robin from where the previous tick stopped, and refreshed when their
+ * {@link Menu#getUpdateInterval()} elapsed, until the time budget of the tick is spent. The remaining menus are
+ * refreshed on the next ticks, so hundreds of open menus are spread over several ticks instead of all refreshing
+ * on the same one.
+ * <p>
+ * Open menus are shared by every {@link MenuAPI}, so only one task runs at a time, the others take over if its
+ * plugin is disabled.
+ */
+public class MenuUpdateTask extends BukkitRunnable {
+    // Ticks since the first task started, used to know when each menu is due.
+    static long currentTick;
+    // The task advancing the tick and refreshing the menus.
+    private static MenuUpdateTask active;
+
+    private long budget = TimeUnit.MILLISECONDS.toNanos(2);
+    private UUID[] cycle = new UUID[0];
+    private int cursor;
+
+    public MenuUpdateTask(final Plugin plugin) {
+        this.runTaskTimer(plugin, 1, 1);
+    }
+
+    /**
+     * Change how long refreshing menus may take per tick. At least one menu is refreshed per tick whatever the budget.
+     *
+     * @param budget The time.
+     * @param unit   The unit of the time.
+     */
+    public void setBudget(final long budget, final TimeUnit unit) {
+        this.budget = unit.toNanos(budget);
+    }
+
+    public long getBudget(final TimeUnit unit) {
+        return unit.convert(this.budget, TimeUnit.NANOSECONDS);
+    }
+
+    public void run() {
+        if (active != this) {
+            if (active != null && !active.isCancelled()) {
+                return;
+            }
+            active = this;
+        }
+        currentTick++;
+        MenuSession.flushRequests();
+        final long start = System.nanoTime();
+        int visited = 0;
+        boolean refreshed = false;
+
+        // Visit every open menu at most once per tick.
+        while (visited < Math.max(this.cycle.length, 1)) {
+            if (this.cursor >= this.cycle.length) {
+                // Menus opened since the previous cycle join the next one.
+                this.cycle = MenuSession.getPlayers();
+                this.cursor = 0;
+                if (this.cycle.length == 0) {
+                    return;
+                }
+            }
+            if (refreshed && System.nanoTime() - start >= this.budget) {
+                return;
+            }
+
+            final MenuSession session = MenuSession.get(this.cycle[this.cursor++]);
+            visited++;
+            if (session == null || !session.getMenu().isAutoUpdate() || currentTick - session.lastUpdateTick < session.getMenu().getUpdateInterval()) {
+                continue;
+            }
+            if (session.getPlayer().isOnline()) {
+                session.getMenu().openMenu(session.getPlayer());
+                refreshed = true;
+            }
+        }
+    }
+}
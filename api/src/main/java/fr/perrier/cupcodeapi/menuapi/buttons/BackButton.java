@@ -10,16 +10,18 @@ import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.ItemStack;
 
 public class BackButton extends Button {
+    private static final ButtonCache CACHE = ButtonCache.forever();
+
     private final Menu back;
 
     public BackButton(final Menu back) {
         this.back = back;
+        cacheIfExactly(BackButton.class, CACHE);
     }
 
     @Override
     public ItemStack getButtonItem(final Player player) {
-        final ItemBuilder item = new ItemBuilder(Material.ARROW).setName(ChatUtil.translate("&f&l« &c&lBack"));
-        return item.toItemStack();
+        return ItemTemplates.item(Material.ARROW, 0, ChatUtil.translate("&f&l« &c&lBack"));
     }
 
     @Override
@@ -10,10 +10,15 @@ import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.ItemStack;
 
 public class CloseButton extends Button {
+    private static final ButtonCache CACHE = ButtonCache.forever();
+
+    public CloseButton() {
+        cacheIfExactly(CloseButton.class, CACHE);
+    }
+
     @Override
     public ItemStack getButtonItem(final Player player) {
-        final ItemBuilder item = new ItemBuilder(XMaterial.INK_SAC.parseMaterial()).setDurability(1).setName(ChatUtil.translate( "&cClose"));
-        return item.toItemStack();
+        return ItemTemplates.item(XMaterial.INK_SAC.parseMaterial(), 1, ChatUtil.translate("&cClose"));
     }
 
     @Override
@@ -0,0 +1,59 @@
+package fr.perrier.cupcodeapi.menuapi.buttons;
+
+
+import com.cryptomorin.xseries.XMaterial;
+import fr.perrier.cupcodeapi.utils.*;
+import fr.perrier.cupcodeapi.menuapi.*;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.inventory.ItemStack;
+
+public class Glass extends Button {
+    // One cache per glass color.
+    private static final ButtonCache[] CACHES = new ButtonCache[16];
+    // One shared button per glass color, see of(int).
+    private static final Glass[] SHARED = new Glass[16];
+
+    static {
+        for (int data = 0; data < CACHES.length; data++) {
+            CACHES[data] = ButtonCache.forever();
+        }
+        for (int data = 0; data < SHARED.length; data++) {
+            SHARED[data] = new Glass(data);
+        }
+    }
+
+    private int data;
+
+    public Glass() {
+        this(7);
+    }
+
+    public Glass(int data) {
+        this.data = data;
+        if (data >= 0 && data < CACHES.length) {
+            cacheIfExactly(Glass.class, CACHES[data]);
+        }
+    }
+
+    /**
+     * Get a glass pane button shared by every menu, instead of creating one per slot on each render.
+     *
+     * @param data The color of the glass.
+     * @return The button.
+     */
+    public static Glass of(int data) {
+        if (data >= 0 && data < SHARED.length)
+            return SHARED[data];
+        return new Glass(data);
+    }
+
+    @Override
+    public ItemStack getButtonItem(final Player player) {
+        return ItemTemplates.item(XMaterial.WHITE_STAINED_GLASS_PANE.parseMaterial(), data, " ");
+    }
+
+    @Override
+    public void clicked(final Player player, final int i, final ClickType clickType, final int hb) {
+    }
+}
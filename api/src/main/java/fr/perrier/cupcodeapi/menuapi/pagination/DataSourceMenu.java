@@ -0,0 +1,68 @@
+package fr.perrier.cupcodeapi.menuapi.pagination;
+
+import fr.perrier.cupcodeapi.menuapi.Button;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A paginated menu reading its entries from a {@link PagedDataSource}.
+ * <p>
+ * Only the entries of the page shown are fetched and turned into buttons, and the entry count is read once per
+ * render, so the size of the source does not matter.
+ *
+ * @param <T> The type of the entries.
+ */
+public abstract class DataSourceMenu<T> extends PaginatedMenu {
+
+    /**
+     * @return The source of the entries, the same instance on every call.
+     */
+    public abstract PagedDataSource<T> getDataSource();
+
+    /**
+     * @param player The player viewing the menu.
+     * @param entry  An entry of the page shown.
+     * @return The button showing the entry.
+     */
+    public abstract Button getEntryButton(Player player, T entry);
+
+    @Override
+    public boolean isAsync() {
+        return super.isAsync() || getDataSource().isAsync();
+    }
+
+    @Override
+    public int getEntryCount(final Player player) {
+        return getDataSource().count();
+    }
+
+    @Override
+    public Map<Integer, Button> getPageButtons(final Player player, final int offset, final int limit) {
+        final List<T> entries = getDataSource().fetch(offset, limit);
+        final Map<Integer, Button> buttons = new HashMap<>();
+        for (int index = 0; index < entries.size() && index < limit; index++) {
+            buttons.put(index, getEntryButton(player, entries.get(index)));
+        }
+        return buttons;
+    }
+
+    /**
+     * Builds a button for every entry of the source, reading the whole source at once.
+     *
+     * @deprecated Legacy path for code still expecting every page at once, the menu itself only uses
+     * {@link #getPageButtons(Player, int, int)}.
+     */
+    @Deprecated
+    @Override
+    public Map<Integer, Button> getAllPagesButtons(final Player player) {
+        final List<T> entries = getDataSource().fetch(0, getDataSource().count());
+        final Map<Integer, Button> buttons = new HashMap<>();
+        for (int index = 0; index < entries.size(); index++) {
+            buttons.put(index, getEntryButton(player, entries.get(index)));
+        }
+        return buttons;
+    }
+}
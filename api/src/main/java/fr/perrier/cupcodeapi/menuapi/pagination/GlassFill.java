@@ -9,18 +9,18 @@ import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.ItemStack;
 
 public class GlassFill extends Button {
+    private static final ButtonCache CACHE = ButtonCache.forever();
+
     private final PaginatedMenu menu;
 
     public GlassFill(final PaginatedMenu menu) {
         this.menu = menu;
+        cacheIfExactly(GlassFill.class, CACHE);
     }
 
     @Override
     public ItemStack getButtonItem(final Player player) {
-        final ItemBuilder item = new ItemBuilder(XMaterial.WHITE_STAINED_GLASS_PANE.parseMaterial());
-        item.setDurability(7);
-        item.setName(" ");
-        return item.toItemStack();
+        return ItemTemplates.item(XMaterial.WHITE_STAINED_GLASS_PANE.parseMaterial(), 7, " ");
     }
 
     @Override
@@ -21,13 +21,12 @@ public class PageButton extends Button {
 
     @Override
     public ItemStack getButtonItem(final Player player) {
-        ItemBuilder item = (this.mod > 0) ? new ItemBuilder(Heads.NEXT_PAGE.toItemStack()) : new ItemBuilder(Heads.PREVIOUS_PAGE.toItemStack());
-        if (this.hasNext(player)) {
-            item.setName(ChatUtil.translate( (this.mod > 0) ? "&8&l» &f&lNext" : "&8&l« &f&lPrevious"));
-        } else {
-            item = new ItemBuilder(Material.AIR);
+        if (!this.hasNext(player)) {
+            return new ItemStack(Material.AIR);
         }
-        return item.toItemStack();
+        return (this.mod > 0)
+                ? ItemTemplates.head(Heads.NEXT_PAGE, ChatUtil.translate("&8&l» &f&lNext"))
+                : ItemTemplates.head(Heads.PREVIOUS_PAGE, ChatUtil.translate("&8&l« &f&lPrevious"));
     }
 
     @Override
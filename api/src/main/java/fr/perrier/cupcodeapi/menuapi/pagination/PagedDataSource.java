@@ -0,0 +1,56 @@
+package fr.perrier.cupcodeapi.menuapi.pagination;
+
+import java.util.List;
+
+/**
+ * The entries shown by a {@link DataSourceMenu}, read one page at a time.
+ *
+ * @param <T> The type of the entries.
+ */
+public interface PagedDataSource<T> {
+
+    /**
+     * @return The total number of entries.
+     */
+    int count();
+
+    /**
+     * Read a window of entries.
+     *
+     * @param offset The index of the first entry.
+     * @param limit  The maximum number of entries.
+     * @return The entries, fewer than the limit on the last page.
+     */
+    List<T> fetch(int offset, int limit);
+
+    /**
+     * A source querying a database or a remote service should say so, the menu is then rendered off the main
+     * thread and {@link #count()} and {@link #fetch(int, int)} may block.
+     *
+     * @return True if reading this source may block.
+     */
+    default boolean isAsync() {
+        return false;
+    }
+
+    /**
+     * A source over entries already in memory.
+     *
+     * @param entries The entries, read without being copied.
+     * @return The source.
+     */
+    static <T> PagedDataSource<T> of(List<T> entries) {
+        return new PagedDataSource<T>() {
+            @Override
+            public int count() {
+                return entries.size();
+            }
+
+            @Override
+            public List<T> fetch(int offset, int limit) {
+                int from = Math.min(offset, entries.size());
+                return entries.subList(from, Math.min(from + limit, entries.size()));
+            }
+        };
+    }
+}
@@ -0,0 +1,160 @@
+package fr.perrier.cupcodeapi.menuapi.pagination;
+
+
+import fr.perrier.cupcodeapi.menuapi.*;
+import fr.perrier.cupcodeapi.menuapi.buttons.*;
+import fr.perrier.cupcodeapi.utils.ChatUtil;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+public abstract class PaginatedMenu extends Menu {
+    private static final int[] GLASS_SLOTS = {0, 1, 7, 8, 9, 17, 27, 35, 36, 37, 43, 44};
+
+    private int page;
+    private final PageButton previousPageButton = new PageButton(-1, this);
+    private final PageButton nextPageButton = new PageButton(1, this);
+    // Number of entries read on the last render, -1 until the first one.
+    private volatile int entryCount = -1;
+
+    public PaginatedMenu() {
+        this.page = 1;
+        this.setUpdateAfterClick(false);
+    }
+
+    public int getGlassColor() {
+        return 7;
+    }
+
+    @Override
+    public String getTitle(final Player player) {
+        // An async menu shows its title before the first render counted the entries.
+        final String pages = (this.entryCount < 0 && this.isAsync()) ? "?" : String.valueOf(this.getPages(player));
+        return ChatUtil.translate( this.getPrePaginatedTitle(player) + " &8(&7" + this.page + "/" + pages + "&8)");
+    }
+
+    public final void modPage(final Player player, final int mod) {
+        this.page += mod;
+        this.setButtonSlots(new ButtonSlots());
+        this.openMenu(player);
+    }
+
+    /**
+     * The page count uses the entry count read by the last render, so the title and the page buttons do not
+     * count the entries again. An async menu is only counted by its render, off the main thread, and has a single
+     * page until then.
+     */
+    public final int getPages(final Player player) {
+        if (this.entryCount < 0) {
+            if (this.isAsync()) {
+                return 1;
+            }
+            this.entryCount = this.getEntryCount(player);
+        }
+        final int buttonAmount = this.entryCount;
+        if (buttonAmount == 0) {
+            return 1;
+        }
+        return (int) Math.ceil(buttonAmount / (double) this.getMaxItemsPerPage(player));
+    }
+
+    @Override
+    public final Map<Integer, Button> getButtons(final Player player) {
+        return this.getButtonSlots(player).toMap();
+    }
+
+    @Override
+    public final ButtonSlots getButtonSlots(final Player player) {
+        final int maxItems = this.getMaxItemsPerPage(player);
+        this.entryCount = this.getEntryCount(player);
+        final ButtonSlots buttons = new ButtonSlots()
+                .set(GLASS_SLOTS, Glass.of(getGlassColor()))
+                .set(39, this.previousPageButton)
+                .set(41, this.nextPageButton);
+        for (final Map.Entry<Integer, Button> entry : this.getPageButtons(player, (this.page - 1) * maxItems, maxItems).entrySet()) {
+            int ind = entry.getKey() + 11;
+
+            if (ind > 15 && ind <= 20) {
+                ind += 4;
+            } else if (ind > 20 && ind <= 25) {
+                ind += 8;
+            }
+            // A page larger than the menu only shows what fits, like the map based menus.
+            if (ind < ButtonSlots.MAX_SLOTS) {
+                buttons.set(ind, entry.getValue());
+            }
+        }
+        final Map<Integer, Button> global = this.getGlobalButtons(player);
+        if (global != null) {
+            buttons.setAll(global);
+        }
+
+        if (backButton() != null) {
+            buttons.set(40, new BackButton(this.backButton()));
+        }
+
+        return buttons;
+    }
+
+    public int getMaxItemsPerPage(final Player player) {
+        return 15;
+    }
+
+    /**
+     * @return The number of entries across all pages, every button of {@link #getAllPagesButtons(Player)} by default.
+     */
+    public int getEntryCount(final Player player) {
+        return this.getAllPagesButtons(player).size();
+    }
+
+    /**
+     * Get the buttons of one page, taken from {@link #getAllPagesButtons(Player)} by default.
+     * Override it with {@link #getEntryCount(Player)} to only build the buttons shown, or extend {@link DataSourceMenu}.
+     *
+     * @param offset The index of the first entry of the page.
+     * @param limit  The number of entries per page.
+     * @return The buttons of the page, by index in the page.
+     */
+    public Map<Integer, Button> getPageButtons(final Player player, final int offset, final int limit) {
+        final HashMap<Integer, Button> buttons = new HashMap<>();
+        for (final Map.Entry<Integer, Button> entry : this.getAllPagesButtons(player).entrySet()) {
+            final int ind = entry.getKey();
+            if (ind >= offset && ind < offset + limit) {
+                buttons.put(ind - offset, entry.getValue());
+            }
+        }
+        return buttons;
+    }
+
+    public Map<Integer, Button> getGlobalButtons(final Player player) {
+        return null;
+    }
+
+    public abstract String getPrePaginatedTitle(final Player p0);
+
+    public abstract Map<Integer, Button> getAllPagesButtons(final Player p0);
+
+    public Menu backButton() {
+        return null;
+    }
+
+    @Override
+    protected void surroundButtons(boolean full, Map buttons, final ItemStack itemStack) {
+        IntStream.range(0, getSize()).filter(slot -> (buttons.get(slot) == null)).forEach(slot -> {
+            if (slot < 9 || slot > getSize() - 10 || (full && (slot % 9 == 0 || (slot + 1) % 9 == 0)))
+                buttons.put(slot, new Button() {
+                    public ItemStack getButtonItem(Player player) {
+                        return itemStack;
+                        }
+                });
+        });
+    }
+
+    public int getPage() {
+        return this.page;
+    }
+}
@@ -51,6 +51,11 @@ public class CommandHandlerTest {
         public static void rootOnly(Player sender) {
             // no-op
         }
+
+        @fr.perrier.cupcodeapi.commands.annotations.Command(names = {"ban"}, permission = "", async = false)
+        public static void ban(Player sender, @fr.perrier.cupcodeapi.commands.annotations.Flag(name = "days") int days) {
+            // no-op
+        }
     }
 
     @Test
@@ -177,4 +182,17 @@ public class CommandHandlerTest {
         assertFalse(completions.isEmpty(), "Expected completions to be non-empty");
         assertTrue(completions.stream().anyMatch(s -> s.equalsIgnoreCase("pear") || s.equalsIgnoreCase("peach")), "Expected pear or peach in completions");
     }
+
+    @Test
+    public void testPrimitiveFlagWithoutDefaultValueIsRejected() throws Exception {
+        Method method = FakeCommands.class.getMethod("ban", Player.class, int.class);
+        fr.perrier.cupcodeapi.commands.annotations.Command cmdAnn = method.getAnnotation(fr.perrier.cupcodeapi.commands.annotations.Command.class);
+        fr.perrier.cupcodeapi.commands.annotations.Flag flagAnn = method.getParameters()[1].getAnnotation(fr.perrier.cupcodeapi.commands.annotations.Flag.class);
+
+        List<fr.perrier.cupcodeapi.commands.annotations.ParameterData> params = new ArrayList<>();
+        params.add(new fr.perrier.cupcodeapi.commands.annotations.ParameterData(flagAnn, int.class));
+
+        // Binding no value to an int would fail on every invocation, so the declaration is refused up front.
+        assertThrows(IllegalArgumentException.class, () -> new CommandData(cmdAnn, params, method, true));
+    }
 }
@@ -0,0 +1,45 @@
+package fr.perrier.cupcodeapi.commands;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandLineTest {
+
+    @Test
+    public void testTokensQuotesAndFlags() {
+        CommandLine line = CommandLine.tokenize("ban  Steve \"griefing the spawn\" --days=3 -s -5 ");
+
+        assertEquals(6, line.size());
+        assertEquals("Steve", line.get(1));
+        assertEquals("griefing the spawn", line.get(2));
+        assertTrue(line.isQuoted(2));
+        assertTrue(line.matches(0, "BAN"));
+
+        assertTrue(line.isFlag(3, "days"));
+        assertEquals("3", line.getFlagValue(3));
+        assertTrue(line.isFlag(4, "S"));
+        assertNull(line.getFlagValue(4));
+        // Negative numbers are not flags.
+        assertFalse(line.isFlag(5));
+        assertEquals(-1, line.findFlag("silent", 0, line.size()));
+    }
+
+    @Test
+    public void testSingleWordsAreFlagsLikeTokens() {
+        assertTrue(CommandLine.isFlagToken("-s"));
+        assertTrue(CommandLine.isFlagToken("--days=3"));
+        assertFalse(CommandLine.isFlagToken("-5"));
+        assertFalse(CommandLine.isFlagToken("-"));
+        assertFalse(CommandLine.isFlagToken("--"));
+        assertFalse(CommandLine.isFlagToken("Steve"));
+    }
+
+    @Test
+    public void testRemainderIsTakenFromTheLine() {
+        CommandLine line = CommandLine.tokenize("say  hello   world  ");
+
+        assertEquals("hello   world", line.remainder(1));
+        assertEquals("hello   world", line.slice(1).toString());
+    }
+}
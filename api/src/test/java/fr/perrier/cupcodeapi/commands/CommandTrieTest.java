@@ -0,0 +1,115 @@
+package fr.perrier.cupcodeapi.commands;
+
+import fr.perrier.cupcodeapi.commands.annotations.Command;
+import fr.perrier.cupcodeapi.commands.annotations.Param;
+import fr.perrier.cupcodeapi.commands.annotations.ParameterData;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandTrieTest {
+
+    public static class TrieCommands {
+        @Command(names = {"root"})
+        public static void root(Player sender, @Param(name = "target") String target) {
+        }
+
+        @Command(names = {"root sub"})
+        public static void sub(Player sender, @Param(name = "target") String target) {
+        }
+
+        @Command(names = {"root reload"})
+        public static void reload(Player sender) {
+        }
+    }
+
+    private static CommandData command(String methodName) throws Exception {
+        for (Method method : TrieCommands.class.getMethods()) {
+            if (method.getName().equals(methodName)) {
+                List<ParameterData> parameters = new ArrayList<>();
+                for (int index = 1; index < method.getParameterCount(); index++) {
+                    parameters.add(new ParameterData(method.getParameters()[index].getAnnotation(Param.class), method.getParameterTypes()[index]));
+                }
+                return (new CommandData(method.getAnnotation(Command.class), parameters, method, true));
+            }
+        }
+        throw new IllegalArgumentException(methodName);
+    }
+
+    @Test
+    public void testLongestAliasIsResolved() throws Exception {
+        CommandData root = command("root");
+        CommandData sub = command("sub");
+        CommandTrie trie = new CommandTrie();
+        trie.insert("root", root);
+        trie.insert("root sub", sub);
+
+        CommandTrie.Match match = trie.resolve(CommandLine.tokenize("ROOT Sub Steve"));
+        assertSame(sub, match.getCommand());
+        assertEquals(2, match.getFirstArgument());
+
+        match = trie.resolve(CommandLine.tokenize("root other"));
+        assertSame(root, match.getCommand());
+        assertEquals(1, match.getFirstArgument());
+
+        assertNull(trie.resolve(CommandLine.tokenize("unknown sub")));
+        assertNull(trie.resolve(CommandLine.tokenize("roo")));
+    }
+
+    @Test
+    public void testCommandWithoutParametersOnlyMatchesAlone() throws Exception {
+        CommandData root = command("root");
+        CommandData reload = command("reload");
+        CommandTrie trie = new CommandTrie();
+        trie.insert("root", root);
+        trie.insert("root reload", reload);
+
+        assertSame(reload, trie.resolve(CommandLine.tokenize("root reload")).getCommand());
+
+        // Extra words go to the shorter alias accepting parameters.
+        CommandTrie.Match match = trie.resolve(CommandLine.tokenize("root reload now"));
+        assertSame(root, match.getCommand());
+        assertEquals(1, match.getFirstArgument());
+    }
+
+    @Test
+    public void testCommandWithoutParametersIgnoresExtraWordsAsALastResort() throws Exception {
+        CommandData reload = command("reload");
+        CommandTrie trie = new CommandTrie();
+        trie.insert("root reload", reload);
+
+        CommandTrie.Match match = trie.resolve(CommandLine.tokenize("root reload now please"));
+        assertSame(reload, match.getCommand());
+        assertEquals(2, match.getFirstArgument());
+
+        assertNull(trie.resolve(CommandLine.tokenize("root now")));
+    }
+
+    @Test
+    public void testFirstRegisteredCommandKeepsItsAlias() throws Exception {
+        CommandData first = command("root");
+        CommandTrie trie = new CommandTrie();
+        trie.insert("root", first);
+        trie.insert("ROOT", command("root"));
+
+        assertSame(first, trie.resolve(CommandLine.tokenize("root")).getCommand());
+    }
+
+    @Test
+    public void testCopyDoesNotChangeThePublishedTree() throws Exception {
+        CommandTrie trie = new CommandTrie();
+        trie.insert("root", command("root"));
+
+        CommandTrie copy = trie.copy();
+        CommandData sub = command("sub");
+        copy.insert("root sub", sub);
+
+        assertSame(sub, copy.resolve(CommandLine.tokenize("root sub")).getCommand());
+        assertNotSame(sub, trie.resolve(CommandLine.tokenize("root sub")).getCommand());
+    }
+}
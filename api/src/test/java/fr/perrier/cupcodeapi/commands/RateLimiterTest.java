@@ -0,0 +1,125 @@
+package fr.perrier.cupcodeapi.commands;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBurstThenOnePermitPerInterval() {
+        // 2 permits per second: one every 500ms, up to 4 at once.
+        RateLimiter limiter = new RateLimiter(2, SECOND, 4, "");
+        UUID player = UUID.randomUUID();
+
+        for (int call = 0; call < 4; call++) {
+            assertTrue(limiter.tryAcquire(player, 0), "call " + call);
+        }
+        assertFalse(limiter.tryAcquire(player, 0));
+
+        assertFalse(limiter.tryAcquire(player, SECOND / 2 - 1));
+        assertTrue(limiter.tryAcquire(player, SECOND / 2));
+        assertFalse(limiter.tryAcquire(player, SECOND / 2));
+    }
+
+    @Test
+    public void testBucketRefillsAfterAPause() {
+        RateLimiter limiter = new RateLimiter(2, SECOND, 4, "");
+        UUID player = UUID.randomUUID();
+
+        for (int call = 0; call < 4; call++) {
+            limiter.tryAcquire(player, 0);
+        }
+
+        // Full again once 4 intervals have passed, and a longer pause does not allow more than the burst.
+        long later = 10 * SECOND;
+        for (int call = 0; call < 4; call++) {
+            assertTrue(limiter.tryAcquire(player, later), "call " + call);
+        }
+        assertFalse(limiter.tryAcquire(player, later));
+    }
+
+    @Test
+    public void testBurstDefaultsToPermits() {
+        RateLimiter limiter = new RateLimiter(3, SECOND, 0, "");
+        UUID player = UUID.randomUUID();
+
+        assertEquals(3, limiter.getBurst());
+        assertTrue(limiter.tryAcquire(player, 0));
+        assertTrue(limiter.tryAcquire(player, 0));
+        assertTrue(limiter.tryAcquire(player, 0));
+        assertFalse(limiter.tryAcquire(player, 0));
+    }
+
+    @Test
+    public void testPlayersHaveTheirOwnBucket() {
+        RateLimiter limiter = new RateLimiter(1, SECOND, 1, "");
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        assertTrue(limiter.tryAcquire(first, 0));
+        assertFalse(limiter.tryAcquire(first, 0));
+        assertTrue(limiter.tryAcquire(second, 0));
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    public void testRemoveKeepsCollidingBucketsReachable() {
+        RateLimiter limiter = new RateLimiter(1, SECOND, 1, "");
+        // The table hashes the xor of both halves, so these three share the same home slot.
+        UUID first = new UUID(1, 0);
+        UUID second = new UUID(0, 1);
+        UUID third = new UUID(3, 2);
+
+        assertTrue(limiter.tryAcquire(first, 0));
+        assertTrue(limiter.tryAcquire(second, 0));
+        assertTrue(limiter.tryAcquire(third, 0));
+        assertEquals(3, limiter.size());
+
+        limiter.remove(first);
+        assertEquals(2, limiter.size());
+        // The buckets probed past the removed one are still found, so still empty.
+        assertFalse(limiter.tryAcquire(second, 0));
+        assertFalse(limiter.tryAcquire(third, 0));
+
+        // The removed player starts again with a full bucket.
+        assertTrue(limiter.tryAcquire(first, 0));
+        assertFalse(limiter.tryAcquire(first, 0));
+        assertEquals(3, limiter.size());
+
+        limiter.remove(second);
+        limiter.remove(second);
+        assertEquals(2, limiter.size());
+        assertFalse(limiter.tryAcquire(third, 0));
+        assertFalse(limiter.tryAcquire(first, 0));
+    }
+
+    @Test
+    public void testGrowingDropsFullBuckets() {
+        RateLimiter limiter = new RateLimiter(1, SECOND, 1, "");
+        UUID kept = UUID.randomUUID();
+
+        for (int player = 0; player < 12; player++) {
+            limiter.tryAcquire(UUID.randomUUID(), 0);
+        }
+        // The first buckets are full again by then, so growing the table for this one drops them.
+        limiter.tryAcquire(kept, 5 * SECOND);
+
+        for (int player = 0; player < 12; player++) {
+            assertTrue(limiter.tryAcquire(UUID.randomUUID(), 5 * SECOND));
+        }
+        assertEquals(13, limiter.size());
+        assertFalse(limiter.tryAcquire(kept, 5 * SECOND));
+    }
+
+    @Test
+    public void testInvalidLimitIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, SECOND, 0, ""));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, 0, 0, ""));
+    }
+}
@@ -0,0 +1,84 @@
+package fr.perrier.cupcodeapi.commands.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testSmallValuesAreExact() {
+        for (long value = 0; value < 16; value++) {
+            assertEquals(value, LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(value)));
+        }
+    }
+
+    @Test
+    public void testBucketsBoundTheirValuesWithinASixteenth() {
+        long[] values = {16, 17, 31, 32, 33, 1_000, 123_456, 999_999_999, 1L << 40, (1L << 40) + 1, Long.MAX_VALUE / 3};
+
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            long upperBound = LatencyHistogram.upperBoundOf(index);
+
+            assertTrue(upperBound >= value, "value " + value);
+            assertTrue(upperBound - value < Math.max(1, value / 16), "value " + value);
+            // The bound is the last value of its bucket.
+            assertEquals(index, LatencyHistogram.indexOf(upperBound));
+            assertEquals(index + 1, LatencyHistogram.indexOf(upperBound + 1));
+        }
+    }
+
+    @Test
+    public void testLargestValueFitsTheLastBucket() {
+        int index = LatencyHistogram.indexOf(Long.MAX_VALUE);
+
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(index));
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(50));
+    }
+
+    @Test
+    public void testPercentilesAreBoundedByTheirBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (long value = 1; value <= 1_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(1_000, histogram.getCount());
+        assertEquals(1_000, histogram.getMax());
+        assertEquals(500, histogram.getMean());
+
+        long median = histogram.getPercentile(50);
+        assertTrue(median >= 500 && median < 500 + 500 / 16, "median " + median);
+        long p99 = histogram.getPercentile(99);
+        assertTrue(p99 >= 990 && p99 <= 1_000, "p99 " + p99);
+
+        // Never above the max, even if its bucket goes further.
+        assertEquals(1_000, histogram.getPercentile(100));
+        assertEquals(1_000, histogram.getPercentile(150));
+        assertEquals(1, histogram.getPercentile(0));
+    }
+
+    @Test
+    public void testEmptyAndNegativeDurations() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getPercentile(99));
+        assertEquals(0, histogram.getMean());
+
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(100));
+
+        histogram.record(40);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+}
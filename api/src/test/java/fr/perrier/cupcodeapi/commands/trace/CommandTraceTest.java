@@ -0,0 +1,60 @@
+package fr.perrier.cupcodeapi.commands.trace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandTraceTest {
+
+    @AfterEach
+    public void tearDown() {
+        CommandTrace.disable();
+    }
+
+    @Test
+    public void testDisabledTraceRecordsNothing() {
+        RingBufferTraceSink buffer = new RingBufferTraceSink(8);
+        CommandTrace.enable(buffer, TraceLevel.INFO);
+
+        assertFalse(CommandTrace.isEnabled(TraceLevel.DEBUG));
+        CommandTrace.trace(TraceLevel.DEBUG, "hidden {}", "value");
+        assertTrue(buffer.dump().isEmpty());
+
+        CommandTrace.disable();
+        CommandTrace.trace(TraceLevel.ERROR, "hidden");
+        assertTrue(buffer.dump().isEmpty());
+    }
+
+    @Test
+    public void testMessagesAreFormattedOnlyWhenRecorded() {
+        RingBufferTraceSink buffer = new RingBufferTraceSink(8);
+        CommandTrace.enable(buffer, TraceLevel.DEBUG);
+
+        CommandTrace.trace(TraceLevel.DEBUG, "tab complete root={} args={}", "root", new String[]{"sub", "p"});
+
+        List<String> lines = buffer.dump();
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).endsWith("tab complete root=root args=[sub, p]"), lines.get(0));
+        assertTrue(lines.get(0).contains("DEBUG"));
+    }
+
+    @Test
+    public void testRingBufferKeepsTheLatestMessages() {
+        RingBufferTraceSink buffer = new RingBufferTraceSink(3);
+
+        for (int i = 0; i < 5; i++) {
+            buffer.trace(TraceLevel.INFO, "message " + i);
+        }
+
+        List<String> lines = buffer.dump();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).endsWith("message 2"));
+        assertTrue(lines.get(2).endsWith("message 4"));
+
+        buffer.clear();
+        assertTrue(buffer.dump().isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+package fr.perrier.cupcodeapi.menuapi;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ButtonSlotsTest {
+
+    private static Button button() {
+        return new Button() {
+            @Override
+            public ItemStack getButtonItem(Player player) {
+                return null;
+            }
+        };
+    }
+
+    @Test
+    public void testSizeIsRoundedToARow() {
+        ButtonSlots slots = new ButtonSlots();
+        assertEquals(9, slots.size());
+
+        slots.set(0, button());
+        assertEquals(9, slots.size());
+        slots.set(8, button());
+        assertEquals(9, slots.size());
+        slots.set(9, button());
+        assertEquals(18, slots.size());
+        slots.set(53, button());
+        assertEquals(54, slots.size());
+
+        slots.set(53, null);
+        assertEquals(18, slots.size());
+    }
+
+    @Test
+    public void testSlotsOutsideOfAnInventory() {
+        ButtonSlots slots = new ButtonSlots();
+
+        assertThrows(IllegalArgumentException.class, () -> slots.set(54, button()));
+        assertThrows(IllegalArgumentException.class, () -> slots.set(-1, button()));
+        assertNull(slots.get(54));
+        assertNull(slots.get(-1));
+
+        Map<Integer, Button> buttons = new HashMap<>();
+        Button kept = button();
+        buttons.put(4, kept);
+        buttons.put(60, button());
+        buttons.put(-3, button());
+        slots.setAll(buttons);
+
+        assertSame(kept, slots.get(4));
+        assertEquals(9, slots.size());
+        assertEquals(1, slots.toMap().size());
+    }
+
+    @Test
+    public void testFillOnlyEmptySlots() {
+        Button close = button();
+        Button glass = button();
+        ButtonSlots slots = new ButtonSlots().set(4, close).fill(27, glass);
+
+        assertSame(close, slots.get(4));
+        assertSame(glass, slots.get(0));
+        assertSame(glass, slots.get(26));
+        assertNull(slots.get(27));
+        assertEquals(27, slots.size());
+    }
+
+    @Test
+    public void testMapViewWritesThrough() {
+        ButtonSlots slots = new ButtonSlots();
+        Map<Integer, Button> view = slots.asMap();
+        Button first = button();
+        Button second = button();
+
+        view.put(3, first);
+        view.put(70, second);
+        assertSame(first, slots.get(3));
+        assertEquals(1, view.size());
+        assertFalse(view.containsKey(70));
+
+        slots.set(10, second);
+        assertSame(second, view.get(10));
+        assertEquals(2, view.size());
+
+        Iterator<Map.Entry<Integer, Button>> iterator = view.entrySet().iterator();
+        Map.Entry<Integer, Button> entry = iterator.next();
+        assertEquals(3, (int) entry.getKey());
+        entry.setValue(second);
+        assertSame(second, slots.get(3));
+        iterator.next();
+        iterator.remove();
+        assertNull(slots.get(10));
+        assertFalse(iterator.hasNext());
+
+        assertSame(second, view.remove(3));
+        assertEquals(0, view.size());
+        assertNull(view.get("3"));
+    }
+}
@@ -0,0 +1,26 @@
+package fr.perrier.cupcodeapi.commands;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so every result reports its allocation rate
+ * ({@code gc.alloc.rate.norm}, bytes per operation) next to its throughput.
+ * <p>
+ * Built with the API by {@code mvn -P benchmarks package -DskipTests} at the root of the repository, then run with
+ * {@code java -jar benchmarks/target/benchmarks.jar [JMH options]}, for example {@code Dispatch -p commandCount=1000}.
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
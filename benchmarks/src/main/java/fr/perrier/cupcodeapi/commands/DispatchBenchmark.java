@@ -0,0 +1,33 @@
+package fr.perrier.cupcodeapi.commands;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full dispatch of a typed command line through {@link CommandHandler#evalCommand(org.bukkit.command.CommandSender, String)}:
+ * tokenizing, resolving, permission check, parameter parsing and invocation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Benchmark
+    public CommandData evalCommand(SyntheticCommands commands) {
+        return (commands.handler.evalCommand(commands.player, commands.typedCommand));
+    }
+
+    @Benchmark
+    public CommandData evalUnknownCommand(SyntheticCommands commands) {
+        return (commands.handler.evalCommand(commands.player, "unknown sub 42"));
+    }
+}
@@ -0,0 +1,28 @@
+package fr.perrier.cupcodeapi.commands;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CommandData#execute(org.bukkit.command.CommandSender, String[])} on an already resolved command:
+ * parameter parsing and invocation only.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecuteBenchmark {
+
+    @Benchmark
+    public void execute(SyntheticCommands commands) {
+        commands.lastCommand.execute(commands.player, commands.typedArguments);
+    }
+}
@@ -0,0 +1,167 @@
+package fr.perrier.cupcodeapi.commands;
+
+import fr.perrier.cupcodeapi.commands.annotations.ParameterData;
+import fr.perrier.cupcodeapi.commands.annotations.ParameterType;
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * A command handler loaded with a synthetic registry of {@link #commandCount} commands.
+ * <p>
+ * Commands are grouped ten per root ({@code /bench3 sub31 <amount> <reason...>}), all behind a permission,
+ * and run a no-op method, so the benchmarks only measure the dispatcher. The sender is a stub-only Mockito
+ * {@link Player} which is allowed everything, like the one of {@code CommandHandlerTest}.
+ * <p>
+ * Commands are added to the handler the same way {@code CommandHandlerTest} does, since registering them with
+ * Bukkit needs a running server.
+ */
+@State(Scope.Benchmark)
+public class SyntheticCommands {
+
+    static final int COMMANDS_PER_ROOT = 10;
+
+    @Param({"10", "100", "1000"})
+    public int commandCount;
+
+    CommandHandler handler;
+    Player player;
+    // Everything typed is built once so the benchmarks only allocate what the dispatcher does.
+    CommandData lastCommand;
+    String typedCommand;
+    String[] typedArguments;
+    String[] typedSubCommand;
+    String[] typedParameter;
+    String lastRoot;
+    TabCompleter lastRootCompleter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JavaPlugin plugin = mock(JavaPlugin.class);
+        Server server = mock(Server.class);
+        PluginManager pluginManager = mock(PluginManager.class);
+        when(plugin.getServer()).thenReturn(server);
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("CupCodeAPI"));
+        when(server.getPluginManager()).thenReturn(pluginManager);
+
+        handler = new CommandHandler(plugin);
+        if (!CommandHandler.initiated) {
+            handler.hook();
+        }
+        CommandHandler.registerParameterType(String.class, new ReasonParameterType());
+
+        player = mock(Player.class, withSettings().stubOnly());
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.getName()).thenReturn("bench");
+        // Permission decisions are only cached for online players, like every player running commands on a server.
+        when(player.isOnline()).thenReturn(true);
+        when(player.isOp()).thenReturn(false);
+        when(player.hasPermission(anyString())).thenReturn(true);
+        when(player.canSee(any())).thenReturn(true);
+
+        Map<String, List<CommandData>> registeredRootCommands = getRegisteredRootCommands();
+        CommandTrie trie = new CommandTrie();
+        List<CommandData> created = new ArrayList<>();
+        String lastSub = null;
+
+        for (int index = 0; index < commandCount; index++) {
+            String root = "bench" + (index / COMMANDS_PER_ROOT);
+            String sub = "sub" + index;
+            CommandData commandData = new CommandData(new String[]{root + " " + sub}, "cupcodeapi.bench", false, 0,
+                    List.of(new ParameterData("amount", false, "", new String[]{""}, int.class, false),
+                            new ParameterData("reason", true, "", new String[]{""}, String.class, false)),
+                    true, arguments -> {
+                    });
+
+            trie.insert(root + " " + sub, commandData);
+            registeredRootCommands.computeIfAbsent(root, k -> new CopyOnWriteArrayList<>()).add(commandData);
+            created.add(commandData);
+
+            lastCommand = commandData;
+            lastRoot = root;
+            lastSub = sub;
+        }
+
+        CommandHandler.commands.clear();
+        CommandHandler.commands.addAll(created);
+        CommandHandler.commandTrie = trie;
+
+        typedCommand = lastRoot + " " + lastSub + " 42 griefing au spawn";
+        typedArguments = new String[]{"42", "griefing", "au", "spawn"};
+        typedSubCommand = new String[]{"s"};
+        typedParameter = new String[]{lastSub, "42", "gr"};
+        lastRootCompleter = createExecutor(lastRoot);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        CommandHandler.commands.clear();
+        CommandHandler.commandTrie = new CommandTrie();
+        handler.getAsyncExecutor().shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, List<CommandData>> getRegisteredRootCommands() throws Exception {
+        Field field = CommandHandler.class.getDeclaredField("registeredRootCommands");
+        field.setAccessible(true);
+        return ((Map<String, List<CommandData>>) field.get(handler));
+    }
+
+    /**
+     * Create the executor Bukkit calls for a root command.
+     */
+    private TabCompleter createExecutor(String rootCommand) throws Exception {
+        Class<?> executorClass = Class.forName("fr.perrier.cupcodeapi.commands.CommandHandler$MultiCommandExecutor");
+        Constructor<?> constructor = executorClass.getDeclaredConstructor(CommandHandler.class, String.class, CommandHandler.class);
+        constructor.setAccessible(true);
+        return ((TabCompleter) constructor.newInstance(handler, rootCommand, handler));
+    }
+
+    /**
+     * Completes the reason parameter from a fixed list, like a real parameter type would from game state.
+     */
+    private static final class ReasonParameterType implements ParameterType<String> {
+        private static final List<String> REASONS = List.of("grief", "griefing", "spam", "insultes", "triche", "publicité");
+
+        @Override
+        public String transform(CommandSender sender, String source) {
+            return (source);
+        }
+
+        @Override
+        public List<String> tabComplete(Player sender, Set<String> flags, String source) {
+            List<String> completions = new ArrayList<>();
+            for (String reason : REASONS) {
+                if (reason.startsWith(source.toLowerCase())) {
+                    completions.add(reason);
+                }
+            }
+            return (completions);
+        }
+    }
+}
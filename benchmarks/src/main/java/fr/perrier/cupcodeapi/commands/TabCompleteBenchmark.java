@@ -0,0 +1,33 @@
+package fr.perrier.cupcodeapi.commands;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tab completion through the executor Bukkit calls for a root command, for a sub-command and for a parameter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TabCompleteBenchmark {
+
+    @Benchmark
+    public List<String> completeSubCommand(SyntheticCommands commands) {
+        return (commands.lastRootCompleter.onTabComplete(commands.player, null, commands.lastRoot, commands.typedSubCommand));
+    }
+
+    @Benchmark
+    public List<String> completeParameter(SyntheticCommands commands) {
+        return (commands.lastRootCompleter.onTabComplete(commands.player, null, commands.lastRoot, commands.typedParameter));
+    }
+}
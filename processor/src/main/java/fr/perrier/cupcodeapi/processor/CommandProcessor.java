@@ -0,0 +1,309 @@
+package fr.perrier.cupcodeapi.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code CommandRegistry} for every {@code @Command} method of a compilation.
+ * <p>
+ * The generated registry describes each command and its parameters with constants, and calls the command
+ * methods directly, so the command handler registers and dispatches them without any reflection. It is listed
+ * in {@code META-INF/services} so {@code CommandHandler#registerGeneratedCommands()} finds it.
+ * <p>
+ * The registry is generated in the package of the first command class, unless the {@value #REGISTRY_OPTION}
+ * option gives its fully qualified name.
+ */
+@SupportedAnnotationTypes(CommandProcessor.COMMAND)
+@SupportedOptions(CommandProcessor.REGISTRY_OPTION)
+public final class CommandProcessor extends AbstractProcessor {
+
+    static final String COMMAND = "fr.perrier.cupcodeapi.commands.annotations.Command";
+    static final String REGISTRY_OPTION = "cupcode.registry";
+
+    private static final String PARAM = "fr.perrier.cupcodeapi.commands.annotations.Param";
+    private static final String FLAG = "fr.perrier.cupcodeapi.commands.annotations.Flag";
+    private static final String RATE_LIMIT = "fr.perrier.cupcodeapi.commands.annotations.RateLimit";
+    private static final String RATE_LIMITER = "fr.perrier.cupcodeapi.commands.RateLimiter";
+    private static final String PLAYER = "org.bukkit.entity.Player";
+    private static final String COMMAND_REGISTRY = "fr.perrier.cupcodeapi.commands.CommandRegistry";
+    private static final String COMMAND_DATA = "fr.perrier.cupcodeapi.commands.CommandData";
+    private static final String PARAMETER_DATA = "fr.perrier.cupcodeapi.commands.annotations.ParameterData";
+    private static final String DEFAULT_REGISTRY_NAME = "CupCodeCommandRegistry";
+
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        TypeElement commandAnnotation = processingEnv.getElementUtils().getTypeElement(COMMAND);
+
+        if (commandAnnotation == null || roundEnvironment.processingOver()) {
+            return (false);
+        }
+
+        List<ExecutableElement> methods = new ArrayList<>();
+
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(commandAnnotation)) {
+            if (element.getKind() == ElementKind.METHOD && isValid((ExecutableElement) element)) {
+                methods.add((ExecutableElement) element);
+            }
+        }
+
+        if (methods.isEmpty()) {
+            return (false);
+        }
+
+        if (generated) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "@Command methods in generated sources are not supported by the command registry", methods.get(0));
+            return (false);
+        }
+
+        // Group by class in a stable order, methods keep their source order inside a class.
+        methods.sort(Comparator.comparing(method -> getOwner(method).getQualifiedName().toString()));
+
+        try {
+            generate(methods);
+            generated = true;
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not generate the command registry: " + exception.getMessage());
+        }
+
+        return (false);
+    }
+
+    /**
+     * Check that the generated registry can call a method, the same way the command handler would accept it at runtime.
+     */
+    private boolean isValid(ExecutableElement method) {
+        Messager messager = processingEnv.getMessager();
+        TypeElement owner = getOwner(method);
+
+        if (!method.getModifiers().contains(Modifier.PUBLIC) || !method.getModifiers().contains(Modifier.STATIC)) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@Command methods must be public and static", method);
+            return (false);
+        }
+
+        for (Element enclosing = owner; enclosing instanceof TypeElement type; enclosing = enclosing.getEnclosingElement()) {
+            if (!type.getModifiers().contains(Modifier.PUBLIC)
+                    || (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC))) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "@Command methods must be declared in public static classes", method);
+                return (false);
+            }
+        }
+
+        if (method.getParameters().isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@Command methods must take the sender as first parameter", method);
+            return (false);
+        }
+
+        for (int index = 1; index < method.getParameters().size(); index++) {
+            VariableElement parameter = method.getParameters().get(index);
+
+            AnnotationMirror flag = getAnnotation(parameter, FLAG);
+
+            if (getAnnotation(parameter, PARAM) == null && flag == null) {
+                // The command handler skips such methods at runtime as well.
+                messager.printMessage(Diagnostic.Kind.WARNING, "Parameter '" + parameter.getSimpleName()
+                        + "' has neither @Param nor @Flag, the command is not registered", parameter);
+                return (false);
+            }
+
+            // A flag which is not typed has no value, and a primitive cannot be null.
+            TypeKind kind = parameter.asType().getKind();
+            if (flag != null && kind.isPrimitive() && kind != TypeKind.BOOLEAN
+                    && getValue(processingEnv.getElementUtils().getElementValuesWithDefaults(flag), "baseValue").getValue().toString().isEmpty()) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "@Flag parameters of a primitive type other than boolean need a baseValue", parameter);
+                return (false);
+            }
+        }
+
+        return (true);
+    }
+
+    private void generate(List<ExecutableElement> methods) throws IOException {
+        Elements elements = processingEnv.getElementUtils();
+        String registryName = processingEnv.getOptions().get(REGISTRY_OPTION);
+
+        if (registryName == null) {
+            String packageName = elements.getPackageOf(getOwner(methods.get(0))).getQualifiedName().toString();
+            registryName = (packageName.isEmpty() ? "" : packageName + ".") + DEFAULT_REGISTRY_NAME;
+        }
+
+        int lastDot = registryName.lastIndexOf('.');
+        String packageName = (lastDot < 0 ? "" : registryName.substring(0, lastDot));
+        String simpleName = registryName.substring(lastDot + 1);
+        Element[] originatingElements = methods.toArray(new Element[0]);
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(registryName, originatingElements).openWriter()) {
+            writer.write(generateSource(packageName, simpleName, methods));
+        }
+
+        FileObject services = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                "META-INF/services/" + COMMAND_REGISTRY, originatingElements);
+
+        try (Writer writer = services.openWriter()) {
+            writer.write(registryName + "\n");
+        }
+    }
+
+    private String generateSource(String packageName, String simpleName, List<ExecutableElement> methods) {
+        StringBuilder source = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("/**\n")
+                .append(" * Commands of this plugin, generated by the CupCodeAPI annotation processor. Do not edit.\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(CommandProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(simpleName).append(" implements ").append(COMMAND_REGISTRY).append(" {\n\n")
+                .append("    @Override\n")
+                .append("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("    public java.util.List<").append(COMMAND_DATA).append("> createCommands() {\n")
+                .append("        java.util.List<").append(COMMAND_DATA).append("> commands = new java.util.ArrayList<>(")
+                .append(methods.size()).append(");\n");
+
+        for (ExecutableElement method : methods) {
+            source.append("\n        // ").append(getOwner(method).getQualifiedName()).append('#').append(method.getSimpleName()).append('\n');
+            appendCommand(source, method);
+        }
+
+        source.append("\n        return commands;\n")
+                .append("    }\n")
+                .append("}\n");
+
+        return (source.toString());
+    }
+
+    private void appendCommand(StringBuilder source, ExecutableElement method) {
+        Elements elements = processingEnv.getElementUtils();
+        Types types = processingEnv.getTypeUtils();
+        Map<? extends ExecutableElement, ? extends AnnotationValue> command =
+                elements.getElementValuesWithDefaults(getAnnotation(method, COMMAND));
+        List<? extends VariableElement> parameters = method.getParameters();
+        TypeElement player = elements.getTypeElement(PLAYER);
+        TypeMirror senderType = types.erasure(parameters.get(0).asType());
+        // Same rule as the reflective registration in CommandHandler.
+        boolean consoleAllowed = (player == null || types.isAssignable(types.erasure(player.asType()), senderType));
+
+        source.append("        commands.add(new ").append(COMMAND_DATA).append("(\n")
+                .append("                ").append(stringArray(getValue(command, "names"))).append(",\n")
+                .append("                ").append(constant(getValue(command, "permission"))).append(",\n")
+                .append("                ").append(getValue(command, "async").getValue()).append(",\n")
+                .append("                ").append(getValue(command, "maxConcurrency").getValue()).append(",\n")
+                .append("                java.util.List.of(");
+
+        for (int index = 1; index < parameters.size(); index++) {
+            source.append(index == 1 ? "\n" : ",\n").append("                        ").append(parameterData(parameters.get(index)));
+        }
+
+        source.append("),\n")
+                .append("                ").append(consoleAllowed).append(",\n")
+                .append("                arguments -> ").append(getOwner(method).getQualifiedName()).append('.').append(method.getSimpleName()).append('(');
+
+        for (int index = 0; index < parameters.size(); index++) {
+            source.append(index == 0 ? "" : ", ")
+                    .append('(').append(types.erasure(parameters.get(index).asType())).append(") arguments[").append(index).append(']');
+        }
+
+        source.append(")));\n");
+
+        AnnotationMirror rateLimit = getAnnotation(method, RATE_LIMIT);
+        if (rateLimit != null) {
+            Map<? extends ExecutableElement, ? extends AnnotationValue> values = elements.getElementValuesWithDefaults(rateLimit);
+            source.append("        commands.get(commands.size() - 1).setRateLimiter(new ").append(RATE_LIMITER).append("(")
+                    .append(getValue(values, "permits").getValue())
+                    .append(", java.util.concurrent.TimeUnit.").append(((VariableElement) getValue(values, "unit").getValue()).getSimpleName())
+                    .append(".toNanos(").append(getValue(values, "per").getValue()).append("L), ")
+                    .append(getValue(values, "burst").getValue()).append(", ")
+                    .append(constant(getValue(values, "bypassPermission"))).append("));\n");
+        }
+    }
+
+    private String parameterData(VariableElement parameter) {
+        Elements elements = processingEnv.getElementUtils();
+        String parameterClass = processingEnv.getTypeUtils().erasure(parameter.asType()) + ".class";
+        AnnotationMirror param = getAnnotation(parameter, PARAM);
+
+        if (param != null) {
+            Map<? extends ExecutableElement, ? extends AnnotationValue> values = elements.getElementValuesWithDefaults(param);
+            return ("new " + PARAMETER_DATA + "(" + constant(getValue(values, "name")) + ", " + getValue(values, "wildcard").getValue()
+                    + ", " + constant(getValue(values, "baseValue")) + ", " + stringArray(getValue(values, "tabCompleteFlags"))
+                    + ", " + parameterClass + ", false)");
+        }
+
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = elements.getElementValuesWithDefaults(getAnnotation(parameter, FLAG));
+        return ("new " + PARAMETER_DATA + "(" + constant(getValue(values, "name")) + ", false, " + constant(getValue(values, "baseValue"))
+                + ", new String[]{\"\"}, " + parameterClass + ", true)");
+    }
+
+    private String constant(AnnotationValue value) {
+        return (processingEnv.getElementUtils().getConstantExpression(value.getValue()));
+    }
+
+    private String stringArray(AnnotationValue value) {
+        StringBuilder array = new StringBuilder("new String[]{");
+        List<?> values = (List<?>) value.getValue();
+
+        for (int index = 0; index < values.size(); index++) {
+            array.append(index == 0 ? "" : ", ").append(constant((AnnotationValue) values.get(index)));
+        }
+
+        return (array.append('}').toString());
+    }
+
+    private static AnnotationValue getValue(Map<? extends ExecutableElement, ? extends AnnotationValue> values, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return (entry.getValue());
+            }
+        }
+        throw new IllegalStateException("Missing annotation value " + name);
+    }
+
+    private static AnnotationMirror getAnnotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return (mirror);
+            }
+        }
+        return (null);
+    }
+
+    private static TypeElement getOwner(ExecutableElement method) {
+        return ((TypeElement) method.getEnclosingElement());
+    }
+}
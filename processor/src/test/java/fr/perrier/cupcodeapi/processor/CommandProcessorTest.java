@@ -0,0 +1,134 @@
+package fr.perrier.cupcodeapi.processor;
+
+import fr.perrier.cupcodeapi.commands.CommandData;
+import fr.perrier.cupcodeapi.commands.CommandRegistry;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandProcessorTest {
+
+    private static final String COMMANDS = """
+            package sample;
+
+            import fr.perrier.cupcodeapi.commands.annotations.Command;
+            import fr.perrier.cupcodeapi.commands.annotations.Param;
+            import org.bukkit.entity.Player;
+
+            public class SampleCommands {
+                @Command(names = {"hello", "hi"}, permission = "sample.hello")
+                public static void hello(Player sender, @Param(name = "target") String target) {
+                }
+            }
+            """;
+
+    /**
+     * Compile one source file with the processor.
+     *
+     * @return The errors reported by the compiler.
+     */
+    private static List<String> compile(Path output, String className, String source, String... options) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        // Surefire may hide the test classpath behind a manifest-only jar, so the API and Spigot jars are located directly.
+        String classpath = location(CommandRegistry.class) + File.pathSeparator + location(Player.class);
+        List<String> arguments = new ArrayList<>(List.of("-classpath", classpath, "-d", output.toString(), "-s", output.toString()));
+        arguments.addAll(List.of(options));
+
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return (source);
+            }
+        };
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, arguments, null, List.of(file));
+        task.setProcessors(List.of(new CommandProcessor()));
+        task.call();
+
+        List<String> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic.getMessage(null));
+            }
+        }
+        return (errors);
+    }
+
+    private static String location(Class<?> type) {
+        try {
+            return (Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+        } catch (URISyntaxException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    @Test
+    public void testGeneratedRegistryIsLoadedAsAService() throws Exception {
+        Path output = Files.createTempDirectory("cupcode-processor");
+
+        assertEquals(List.of(), compile(output, "sample.SampleCommands", COMMANDS));
+        assertEquals("sample.CupCodeCommandRegistry\n",
+                Files.readString(output.resolve("META-INF/services/fr.perrier.cupcodeapi.commands.CommandRegistry")));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            List<CommandRegistry> registries = new ArrayList<>();
+            ServiceLoader.load(CommandRegistry.class, classLoader).forEach(registries::add);
+            assertEquals(1, registries.size());
+
+            List<CommandData> commands = registries.get(0).createCommands();
+            assertEquals(1, commands.size());
+            assertArrayEquals(new String[]{"hello", "hi"}, commands.get(0).getNames());
+            assertEquals("sample.hello", commands.get(0).getPermission());
+            assertEquals(1, commands.get(0).getParameters().size());
+            assertEquals("target", commands.get(0).getParameters().get(0).getName());
+        }
+    }
+
+    @Test
+    public void testRegistryNameOption() throws Exception {
+        Path output = Files.createTempDirectory("cupcode-processor");
+
+        assertEquals(List.of(), compile(output, "sample.SampleCommands", COMMANDS, "-Acupcode.registry=custom.Commands"));
+        assertTrue(Files.exists(output.resolve("custom/Commands.class")));
+    }
+
+    @Test
+    public void testMethodsTheRegistryCannotCallAreRejected() throws Exception {
+        Path output = Files.createTempDirectory("cupcode-processor");
+        List<String> errors = compile(output, "sample.SampleCommands", COMMANDS.replace("public static void", "public void"));
+
+        assertEquals(List.of("@Command methods must be public and static"), errors);
+    }
+
+    @Test
+    public void testPrimitiveFlagsNeedADefaultValue() throws Exception {
+        Path output = Files.createTempDirectory("cupcode-processor");
+        String flags = COMMANDS.replace("@Param(name = \"target\") String target", "@Flag(name = \"days\") int days")
+                .replace("import fr.perrier.cupcodeapi.commands.annotations.Param;", "import fr.perrier.cupcodeapi.commands.annotations.Flag;");
+
+        assertEquals(List.of("@Flag parameters of a primitive type other than boolean need a baseValue"),
+                compile(output, "sample.SampleCommands", flags));
+        assertEquals(List.of(), compile(output, "sample.SampleCommands", flags.replace("name = \"days\")", "name = \"days\", baseValue = \"7\")")));
+        assertEquals(List.of(), compile(output, "sample.SampleCommands", flags.replace("int days", "Integer days")));
+    }
+}